@@ -0,0 +1,217 @@
+// src/main/java/com/consumesafe/app/cache/RespSharedCache.java
+package com.consumesafe.app.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client minimal du protocole Redis (RESP2) : GET, SET ... PX et DEL, avec un petit pool de
+ * connexions. Compatible avec Redis, Valkey, KeyDB, etc. sans dépendance supplémentaire.
+ * Toute erreur réseau est remontée en UncheckedIOException ; TwoTierCache la traite comme un défaut.
+ *
+ * Le pool est borné : au plus poolSize connexions ouvertes, les appelants en surnombre attendent
+ * une connexion libre (au plus poolWaitMs) au lieu d'en ouvrir une jetable. Après une erreur
+ * réseau, le circuit s'ouvre pendant circuitOpenMs : les appels échouent immédiatement, sans
+ * socket ni résolution DNS, puis un seul appel sonde le serveur avant de refermer le circuit.
+ */
+public class RespSharedCache implements SharedCache, AutoCloseable {
+
+    private final String host;
+    private final int port;
+    private final int timeoutMs;
+    private final long poolWaitMs;
+    private final long circuitOpenNanos;
+    private final BlockingQueue<Connection> idle;
+    private final Semaphore permits;
+
+    // Échéance (System.nanoTime) d'ouverture du circuit, 0 = circuit fermé
+    private final AtomicLong openUntil = new AtomicLong();
+
+    public RespSharedCache(String host, int port, int timeoutMs, int poolSize, long poolWaitMs, long circuitOpenMs) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMs = timeoutMs;
+        this.poolWaitMs = poolWaitMs;
+        this.circuitOpenNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, circuitOpenMs));
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        this.permits = new Semaphore(Math.max(1, poolSize));
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return (byte[]) execute(bytes("GET"), bytes(key));
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        execute(bytes("SET"), bytes(key), value, bytes("PX"), bytes(Long.toString(ttl.toMillis())));
+    }
+
+    @Override
+    public void evict(String key) {
+        execute(bytes("DEL"), bytes(key));
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private Object execute(byte[]... command) {
+        enterCircuit();
+        try {
+            if (!permits.tryAcquire(poolWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new UncheckedIOException(new IOException("Aucune connexion libre vers le cache partagé"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Attente d'une connexion interrompue"));
+        }
+        Connection connection = idle.poll();
+        try {
+            if (connection == null) {
+                connection = new Connection(host, port, timeoutMs);
+            }
+            Object reply = connection.call(command);
+            // Jamais plus de poolSize connexions : il reste toujours une place dans la file
+            idle.offer(connection);
+            if (openUntil.get() != 0) {
+                openUntil.set(0);
+            }
+            return reply;
+        } catch (ServerError e) {
+            // Réponse d'erreur de Redis : la connexion reste utilisable, le serveur aussi
+            idle.offer(connection);
+            throw new UncheckedIOException(e);
+        } catch (IOException e) {
+            // Connexion dans un état inconnu : on la jette et on ouvre le circuit
+            if (connection != null) {
+                connection.close();
+            }
+            openUntil.set(System.nanoTime() + circuitOpenNanos);
+            throw new UncheckedIOException(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Circuit ouvert : échec immédiat. À l'échéance, le premier appelant sonde le serveur et
+    // repousse l'échéance pour les autres ; le circuit se referme si la sonde réussit.
+    private void enterCircuit() {
+        long until = openUntil.get();
+        if (until == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - until < 0 || !openUntil.compareAndSet(until, now + circuitOpenNanos)) {
+            throw new UncheckedIOException(new IOException("Cache partagé indisponible (circuit ouvert)"));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class ServerError extends IOException {
+        ServerError(String message) {
+            super("Erreur Redis : " + message);
+        }
+    }
+
+    private static final class Connection {
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        Connection(String host, int port, int timeoutMs) throws IOException {
+            socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port), timeoutMs);
+            socket.setSoTimeout(timeoutMs);
+            socket.setTcpNoDelay(true);
+            in = new BufferedInputStream(socket.getInputStream());
+            out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        Object call(byte[]... command) throws IOException {
+            // Requête : tableau de chaînes binaires "*n\r\n$len\r\n...\r\n"
+            out.write(('*' + Integer.toString(command.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (byte[] part : command) {
+                out.write(('$' + Integer.toString(part.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.write(part);
+                out.write('\r');
+                out.write('\n');
+            }
+            out.flush();
+            return readReply();
+        }
+
+        private Object readReply() throws IOException {
+            int type = in.read();
+            String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case ':':
+                    return Long.parseLong(line);
+                case '-':
+                    throw new ServerError(line);
+                case '$': {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    byte[] data = in.readNBytes(length);
+                    if (data.length != length) {
+                        throw new EOFException();
+                    }
+                    readLine();
+                    return data;
+                }
+                case -1:
+                    throw new EOFException();
+                default:
+                    throw new IOException("Réponse RESP inattendue : " + (char) type);
+            }
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b == -1) {
+                    throw new EOFException();
+                }
+                line.write(b);
+            }
+            in.read(); // '\n'
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Déjà fermée
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/consumesafe/app/cache/SharedCache.java
+package com.consumesafe.app.cache;
+
+import java.time.Duration;
+
+// Cache L2 partagé entre les réplicas (Redis en production)
+public interface SharedCache {
+
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void evict(String key);
+}
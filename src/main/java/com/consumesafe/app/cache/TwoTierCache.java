@@ -0,0 +1,248 @@
+// src/main/java/com/consumesafe/app/cache/TwoTierCache.java
+package com.consumesafe.app.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache à deux niveaux : L1 en mémoire du pod pour l'ensemble chaud, L2 partagé entre réplicas.
+ *
+ * L1 est borné (l1MaxEntries) : un LRU découpé en segments, chacun protégé par son propre verrou,
+ * évince les entrées les moins récemment lues. Seul l'ensemble chaud de chaque pod y reste, même
+ * si le L2 contient l'ensemble des clés vues par tous les réplicas.
+ *
+ * Les clés L2 contiennent la version du catalogue : un réplica qui a chargé un autre catalogue ne
+ * lit jamais les verdicts d'une autre version, et L1 est vidé dès que la version change. Une panne
+ * du L2 n'est jamais propagée : la requête retombe sur un défaut de cache classique.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Class<?> valueType;
+    private static final int SEGMENTS = 16;
+
+    private final LruSegment[] l1 = new LruSegment[SEGMENTS];
+    private final int l1MaxEntries;
+    private final SharedCache l2;
+    private final Supplier<String> catalogVersion;
+    private final Duration l2Ttl;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private volatile String l1Version;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder l2Errors = new LongAdder();
+    private final LongAdder l1Evictions = new LongAdder();
+
+    // l2 peut être null : le cache se comporte alors comme un simple cache local
+    public TwoTierCache(String name, Class<?> valueType, int l1MaxEntries, SharedCache l2,
+                        Supplier<String> catalogVersion, Duration l2Ttl) {
+        super(false);
+        this.name = name;
+        this.valueType = valueType;
+        this.l1MaxEntries = Math.max(SEGMENTS, l1MaxEntries);
+        int perSegment = (this.l1MaxEntries + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            l1[i] = new LruSegment(perSegment);
+        }
+        this.l2 = l2;
+        this.catalogVersion = catalogVersion;
+        this.l2Ttl = l2Ttl;
+        this.l1Version = catalogVersion.get();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String version = checkVersion();
+        Object value = l1Get(key);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        if (l2 != null) {
+            try {
+                byte[] bytes = l2.get(l2Key(version, key));
+                if (bytes != null) {
+                    value = mapper.readValue(bytes, valueType);
+                    l1Put(key, value);
+                    l2Hits.increment();
+                    return value;
+                }
+            } catch (RuntimeException | IOException e) {
+                l2Errors.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        String version = checkVersion();
+        l1Put(key, value);
+        if (l2 != null) {
+            try {
+                l2.put(l2Key(version, key), mapper.writeValueAsBytes(value), l2Ttl);
+            } catch (RuntimeException | IOException e) {
+                l2Errors.increment();
+            }
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        LruSegment segment = segment(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+        if (l2 != null) {
+            try {
+                l2.evict(l2Key(catalogVersion.get(), key));
+            } catch (RuntimeException e) {
+                l2Errors.increment();
+            }
+        }
+    }
+
+    // Seul L1 est vidé : les entrées L2 sont isolées par version et expirent via leur TTL
+    @Override
+    public void clear() {
+        clearL1();
+    }
+
+    public Map<String, Object> getStats() {
+        long l1 = l1Hits.sum();
+        long l2 = l2Hits.sum();
+        long miss = misses.sum();
+        long total = Math.max(1, l1 + l2 + miss);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("catalogVersion", catalogVersion.get());
+        stats.put("l2Enabled", this.l2 != null);
+        stats.put("l1Size", l1Size());
+        stats.put("l1MaxEntries", l1MaxEntries);
+        stats.put("l1Evictions", l1Evictions.sum());
+        stats.put("l1Hits", l1);
+        stats.put("l2Hits", l2);
+        stats.put("misses", miss);
+        stats.put("l2Errors", l2Errors.sum());
+        stats.put("l1HitRatio", (double) l1 / total);
+        // Part des défauts L1 rattrapés par le L2
+        stats.put("l2HitRatio", (double) l2 / Math.max(1, l2 + miss));
+        return stats;
+    }
+
+    // Vide L1 si le catalogue a été rechargé depuis la dernière requête
+    private String checkVersion() {
+        String version = catalogVersion.get();
+        if (!version.equals(l1Version)) {
+            synchronized (this) {
+                if (!version.equals(l1Version)) {
+                    clearL1();
+                    l1Version = version;
+                }
+            }
+        }
+        return version;
+    }
+
+    private String l2Key(String version, Object key) {
+        return "consumesafe:" + name + ":" + version + ":" + key;
+    }
+
+    private Object l1Get(Object key) {
+        LruSegment segment = segment(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    private void l1Put(Object key, Object value) {
+        LruSegment segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    private int l1Size() {
+        int size = 0;
+        for (LruSegment segment : l1) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private void clearL1() {
+        for (LruSegment segment : l1) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private LruSegment segment(Object key) {
+        int h = key.hashCode();
+        return l1[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    // LinkedHashMap en ordre d'accès : l'entrée la plus ancienne est la moins récemment lue
+    private final class LruSegment extends LinkedHashMap<Object, Object> {
+        private final int capacity;
+
+        LruSegment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+            if (size() > capacity) {
+                l1Evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,6 +1,14 @@
 // src/main/java/com/consumesafe/app/config/CacheConfig.java
 package com.consumesafe.app.config;
 
+import com.consumesafe.app.cache.RespSharedCache;
+import com.consumesafe.app.cache.SharedCache;
+import com.consumesafe.app.cache.TwoTierCache;
+import com.consumesafe.app.dto.CheckResult;
+import com.consumesafe.app.service.CatalogVersion;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
@@ -8,20 +16,43 @@ import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // L2 partagé (Redis) : activé par consumesafe.cache.l2.enabled=true
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "consumesafe.cache.l2.enabled", havingValue = "true")
+    public RespSharedCache sharedCache(@Value("${consumesafe.cache.l2.host:localhost}") String host,
+                                       @Value("${consumesafe.cache.l2.port:6379}") int port,
+                                       @Value("${consumesafe.cache.l2.timeout-ms:50}") int timeoutMs,
+                                       @Value("${consumesafe.cache.l2.pool-size:16}") int poolSize,
+                                       @Value("${consumesafe.cache.l2.pool-wait-ms:20}") long poolWaitMs,
+                                       @Value("${consumesafe.cache.l2.circuit-open-ms:5000}") long circuitOpenMs) {
+        return new RespSharedCache(host, port, timeoutMs, poolSize, poolWaitMs, circuitOpenMs);
+    }
+
+    // Résultats de vérification : L1 local + L2 partagé, clés L2 préfixées par la version du catalogue
+    @Bean
+    public TwoTierCache searchResultsCache(ObjectProvider<SharedCache> sharedCache,
+                                           CatalogVersion catalogVersion,
+                                           @Value("${consumesafe.cache.l1.max-entries:10000}") int l1MaxEntries,
+                                           @Value("${consumesafe.cache.l2.ttl-minutes:60}") long ttlMinutes) {
+        return new TwoTierCache("searchResults", CheckResult.class, l1MaxEntries, sharedCache.getIfAvailable(),
+                catalogVersion::get, Duration.ofMinutes(ttlMinutes));
+    }
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(TwoTierCache searchResultsCache) {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
         cacheManager.setCaches(Arrays.asList(
                 new ConcurrentMapCache("products"),
                 new ConcurrentMapCache("alternatives"),
-                new ConcurrentMapCache("searchResults")
+                searchResultsCache
         ));
         return cacheManager;
     }
-}
\ No newline at end of file
+}
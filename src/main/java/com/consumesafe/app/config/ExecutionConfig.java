@@ -0,0 +1,64 @@
+// src/main/java/com/consumesafe/app/config/ExecutionConfig.java
+package com.consumesafe.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mode d'exécution des requêtes HTTP.
+ *
+ * consumesafe.execution.mode=platform : pool de threads Tomcat classique (server.tomcat.threads.max).
+ * consumesafe.execution.mode=virtual  : un thread virtuel (Java 21) par requête ; un client lent
+ * n'immobilise plus un thread du pool pendant les lectures/écritures réseau. Ce mode active
+ * spring.threads.virtual.enabled (voir ExecutionModeEnvironmentPostProcessor).
+ *
+ * Dans les deux modes, la recherche floue (CPU) s'exécute sur un pool de calcul borné, dimensionné
+ * sur le nombre de cœurs, pour ne pas monopoliser les threads porteurs des threads virtuels.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService fuzzyMatchingExecutor(
+            @Value("${consumesafe.execution.compute-threads:0}") int computeThreads,
+            @Value("${consumesafe.execution.compute-queue:256}") int queueCapacity,
+            @Value("${consumesafe.execution.compute-admission-timeout-ms:200}") long admissionTimeoutMs) {
+        int threads = computeThreads > 0 ? computeThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fuzzy-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                blockingAdmission(admissionTimeoutMs));
+    }
+
+    // File pleine : l'appelant attend une place (un thread virtuel est simplement démonté de son
+    // porteur), puis la tâche est rejetée ; elle n'est jamais exécutée sur le thread appelant
+    private static RejectedExecutionHandler blockingAdmission(long timeoutMs) {
+        return (task, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Pool de calcul arrêté");
+            }
+            try {
+                if (!executor.getQueue().offer(task, timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new RejectedExecutionException("Pool de calcul saturé");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Attente du pool de calcul interrompue", e);
+            }
+        };
+    }
+}
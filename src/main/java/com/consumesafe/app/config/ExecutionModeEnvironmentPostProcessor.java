@@ -0,0 +1,26 @@
+// src/main/java/com/consumesafe/app/config/ExecutionModeEnvironmentPostProcessor.java
+package com.consumesafe.app.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Traduit consumesafe.execution.mode=virtual en spring.threads.virtual.enabled=true : Spring Boot
+ * configure alors Tomcat et ses propres exécuteurs (tâches asynchrones, planification) et les
+ * arrête proprement. Ajoutée en dernier, la propriété Spring Boot explicite reste prioritaire.
+ */
+public class ExecutionModeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String mode = environment.getProperty("consumesafe.execution.mode", "platform");
+        if ("virtual".equalsIgnoreCase(mode.trim())) {
+            environment.getPropertySources().addLast(new MapPropertySource("consumesafeExecutionMode",
+                    Map.of("spring.threads.virtual.enabled", "true")));
+        }
+    }
+}
@@ -1,10 +1,13 @@
 // src/main/java/com/consumesafe/app/controller/RestApiController.java
 package com.consumesafe.app.controller;
 
+import com.consumesafe.app.cache.TwoTierCache;
 import com.consumesafe.app.dto.CheckResult;
 import com.consumesafe.app.model.Alternative;
 import com.consumesafe.app.model.Product;
+import com.consumesafe.app.service.CacheWarmupService;
 import com.consumesafe.app.service.ProductService;
+import com.consumesafe.app.service.TrendingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
@@ -23,14 +26,29 @@ public class RestApiController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private CacheWarmupService cacheWarmupService;
+
+    @Autowired
+    private TwoTierCache searchResultsCache;
+
     @GetMapping("/check")
     public ResponseEntity<CheckResult> checkProduct(@RequestParam String name) {
         if (name == null || name.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
+        trendingService.record(name);
         CheckResult result = productService.checkProduct(name);
+        // Verdict dégradé (pool saturé) : ni le navigateur ni un proxy ne doivent le garder,
+        // la requête suivante relance la recherche complète
+        CacheControl cacheControl = result.isDegraded()
+                ? CacheControl.noStore()
+                : CacheControl.maxAge(1, TimeUnit.HOURS);
         return ResponseEntity.ok()
-                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                .cacheControl(cacheControl)
                 .body(result);
     }
 
@@ -70,11 +88,26 @@ public class RestApiController {
                 .body(productService.searchSuggestions(query));
     }
 
-    // Recherche floue
+    // Produits boycottés les plus recherchés
+    @GetMapping("/trending")
+    public ResponseEntity<List<Map<String, Object>>> getTrending(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.MINUTES))
+                .body(productService.getTrendingProducts(Math.max(1, Math.min(limit, 50))));
+    }
+
+    // Recherche floue, sur le pool de calcul borné
     @GetMapping("/search")
     public ResponseEntity<List<Product>> fuzzySearch(@RequestParam String query) {
+        List<Product> matches = productService.fuzzySearchOnComputePool(query);
+        if (matches == null) {
+            // Pool saturé : liste vide, à ne pas garder en cache côté client
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(List.of());
+        }
         return ResponseEntity.ok()
-                .body(productService.fuzzySearch(query));
+                .body(matches);
     }
 
     // Catégories disponibles
@@ -97,4 +130,16 @@ public class RestApiController {
                 .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
                 .body(stats);
     }
+
+    // Rapport du préchauffage du cache au démarrage
+    @GetMapping("/warmup")
+    public ResponseEntity<Map<String, Object>> getWarmupReport() {
+        return ResponseEntity.ok(cacheWarmupService.getLastReport());
+    }
+
+    // Taux de succès des caches L1 (local) et L2 (partagé)
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(searchResultsCache.getStats());
+    }
 }
\ No newline at end of file
@@ -1,67 +1,52 @@
 // src/main/java/com/consumesafe/app/controller/SeoController.java
 package com.consumesafe.app.controller;
 
-import com.consumesafe.app.service.ProductService;
+import com.consumesafe.app.service.SitemapService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
 
 @Controller
 public class SeoController {
 
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
     @Autowired
-    private ProductService productService;
+    private SitemapService sitemapService;
 
+    // Index des sitemaps ; Spring répond 304 si If-Modified-Since >= Last-Modified
     @GetMapping(value = "/sitemap.xml", produces = MediaType.APPLICATION_XML_VALUE)
-    @ResponseBody
-    public String sitemap() {
-        StringBuilder sitemap = new StringBuilder();
-        String baseUrl = "https://consumesafe.tn"; // Changez selon votre domaine
-        String today = LocalDate.now().format(DateTimeFormatter.ISO_DATE);
-
-        sitemap.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        sitemap.append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
-
-        // Page d'accueil
-        sitemap.append("  <url>\n");
-        sitemap.append("    <loc>").append(baseUrl).append("/</loc>\n");
-        sitemap.append("    <lastmod>").append(today).append("</lastmod>\n");
-        sitemap.append("    <changefreq>daily</changefreq>\n");
-        sitemap.append("    <priority>1.0</priority>\n");
-        sitemap.append("  </url>\n");
-
-        // Liste des produits
-        sitemap.append("  <url>\n");
-        sitemap.append("    <loc>").append(baseUrl).append("/list</loc>\n");
-        sitemap.append("    <lastmod>").append(today).append("</lastmod>\n");
-        sitemap.append("    <changefreq>weekly</changefreq>\n");
-        sitemap.append("    <priority>0.9</priority>\n");
-        sitemap.append("  </url>\n");
-
-        // Alternatives
-        sitemap.append("  <url>\n");
-        sitemap.append("    <loc>").append(baseUrl).append("/alternatives</loc>\n");
-        sitemap.append("    <lastmod>").append(today).append("</lastmod>\n");
-        sitemap.append("    <changefreq>weekly</changefreq>\n");
-        sitemap.append("    <priority>0.9</priority>\n");
-        sitemap.append("  </url>\n");
-
-        // À propos
-        sitemap.append("  <url>\n");
-        sitemap.append("    <loc>").append(baseUrl).append("/about</loc>\n");
-        sitemap.append("    <lastmod>").append(today).append("</lastmod>\n");
-        sitemap.append("    <changefreq>monthly</changefreq>\n");
-        sitemap.append("    <priority>0.7</priority>\n");
-        sitemap.append("  </url>\n");
+    public ResponseEntity<byte[]> sitemap() {
+        SitemapService.Snapshot snapshot = sitemapService.getSnapshot();
+        return withLastModified(ResponseEntity.ok(), snapshot)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                .body(snapshot.index());
+    }
 
-        sitemap.append("</urlset>");
+    // Fichiers sitemap déjà compressés, servis tels quels depuis la mémoire
+    @GetMapping(value = "/sitemaps/sitemap-{number}.xml.gz")
+    public ResponseEntity<byte[]> sitemapShard(@PathVariable int number) {
+        SitemapService.Snapshot snapshot = sitemapService.getSnapshot();
+        if (number < 1 || number > snapshot.shards().size()) {
+            return ResponseEntity.notFound().build();
+        }
+        return withLastModified(ResponseEntity.ok(), snapshot)
+                .contentType(GZIP)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                .body(snapshot.shards().get(number - 1));
+    }
 
-        return sitemap.toString();
+    // Date du catalogue, identique sur tous les réplicas ; omise si elle est inconnue
+    private static ResponseEntity.BodyBuilder withLastModified(ResponseEntity.BodyBuilder builder,
+                                                               SitemapService.Snapshot snapshot) {
+        return snapshot.lastModified() > 0 ? builder.lastModified(snapshot.lastModified()) : builder;
     }
 
     @GetMapping(value = "/robots.txt", produces = MediaType.TEXT_PLAIN_VALUE)
@@ -73,8 +58,8 @@ public class SeoController {
         robots.append("Allow: /\n");
         robots.append("Disallow: /api/\n");
         robots.append("\n");
-        robots.append("Sitemap: https://consumesafe.tn/sitemap.xml\n");
+        robots.append("Sitemap: ").append(sitemapService.getBaseUrl()).append("/sitemap.xml\n");
 
         return robots.toString();
     }
-}
\ No newline at end of file
+}
@@ -3,12 +3,19 @@ package com.consumesafe.app.controller;
 
 import com.consumesafe.app.dto.CheckResult;
 import com.consumesafe.app.service.ProductService;
+import com.consumesafe.app.service.TrendingService;
+import com.consumesafe.app.model.Product;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @Controller
 public class WebController {
@@ -16,6 +23,9 @@ public class WebController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private TrendingService trendingService;
+
     @GetMapping("/")
     public String index(Model model) {
         return "index";
@@ -27,12 +37,36 @@ public class WebController {
             return "redirect:/";
         }
 
+        trendingService.record(productName);
         CheckResult result = productService.checkProduct(productName);
         model.addAttribute("result", result);
 
         return "result";
     }
 
+    // Page indexable par produit (liens du sitemap) ; non comptée dans les tendances.
+    // Uniquement pour les noms connus : un nom arbitraire renvoie 404, sans recherche floue ni
+    // nouvelle entrée de cache.
+    @GetMapping("/product/{name}")
+    public String productPage(@PathVariable String name, Model model) {
+        if (productService.findBoycottedProduct(name) == null && productService.findAlternative(name) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        model.addAttribute("result", productService.checkProduct(name));
+        return "result";
+    }
+
+    // Page indexable par catégorie (liens du sitemap) ; 404 pour une catégorie inconnue
+    @GetMapping("/category/{category}")
+    public String categoryPage(@PathVariable String category, Model model) {
+        List<Product> products = productService.getProductsByCategory(category);
+        if (products.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        model.addAttribute("boycottList", products);
+        return "list";
+    }
+
     @GetMapping("/list")
     public String listProducts(Model model) {
         model.addAttribute("boycottList", productService.getAllBoycottedProducts());
@@ -1,6 +1,8 @@
 // src/main/java/com/consumesafe/app/dto/CheckResult.java
 package com.consumesafe.app.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class CheckResult {
     private String productName;
     private boolean isBoycotted;
@@ -9,6 +11,10 @@ public class CheckResult {
     private String reason;
     private String severity; // "high", "medium", "low", "safe", "unknown"
     private boolean productFound; // Nouveau champ pour indiquer si le produit existe dans la base
+    private boolean degraded; // Recherche floue abandonnée (pool de calcul saturé) : résultat non mis en cache
+
+    // Requis par Jackson pour relire un résultat depuis le cache partagé
+    public CheckResult() {}
 
     public CheckResult(String productName) {
         this.productName = productName;
@@ -46,6 +52,11 @@ public class CheckResult {
         return productFound;
     }
 
+    @JsonIgnore
+    public boolean isDegraded() {
+        return degraded;
+    }
+
     // Setters
     public void setProductName(String productName) {
         this.productName = productName;
@@ -75,6 +86,10 @@ public class CheckResult {
         this.productFound = productFound;
     }
 
+    public void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
+
     // Méthode utilitaire pour déterminer le type de résultat
     public String getResultType() {
         if (!productFound) {
@@ -0,0 +1,42 @@
+// src/main/java/com/consumesafe/app/model/Brand.java
+package com.consumesafe.app.model;
+
+// Marque ou filiale rattachée à une société mère (autre marque ou produit de la liste de boycott)
+public class Brand {
+    private String name;
+    private String parent;
+    private String category;
+
+    public Brand() {}
+
+    public Brand(String name, String parent, String category) {
+        this.name = name;
+        this.parent = parent;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getParent() {
+        return parent;
+    }
+
+    public void setParent(String parent) {
+        this.parent = parent;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,212 @@
+// src/main/java/com/consumesafe/app/service/CacheWarmupService.java
+package com.consumesafe.app.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.consumesafe.app.cache.SharedCache;
+import com.consumesafe.app.model.Alternative;
+import com.consumesafe.app.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Préchauffage du cache "searchResults" au démarrage.
+ *
+ * Les ApplicationRunner s'exécutent avant que Spring Boot ne passe la readiness à ACCEPTING_TRAFFIC :
+ * Kubernetes n'envoie donc aucune requête au pod tant que le préchauffage n'est pas terminé.
+ * Les requêtes populaires de l'exécution précédente sont sauvegardées à l'arrêt puis rejouées ici :
+ * dans le cache L2 partagé lorsqu'il est activé (commun aux réplicas et conservé d'un déploiement à
+ * l'autre), sinon dans un fichier local.
+ */
+@Service
+public class CacheWarmupService implements ApplicationRunner {
+
+    // Clé hors version du catalogue : les requêtes des utilisateurs restent valables après un rechargement
+    private static final String POPULAR_QUERIES_KEY = "consumesafe:popular-queries";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    // Absent si consumesafe.cache.l2.enabled=false
+    @Autowired(required = false)
+    private SharedCache sharedCache;
+
+    @Value("${consumesafe.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${consumesafe.warmup.threads:0}")
+    private int threads;
+
+    @Value("${consumesafe.warmup.time-budget-ms:30000}")
+    private long timeBudgetMs;
+
+    @Value("${consumesafe.warmup.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${consumesafe.warmup.popular-queries-file:data/popular-queries.json}")
+    private String popularQueriesFile;
+
+    @Value("${consumesafe.warmup.popular-queries-count:${consumesafe.trending.top-k:64}}")
+    private int popularQueriesCount;
+
+    @Value("${consumesafe.warmup.popular-queries-ttl-hours:168}")
+    private long popularQueriesTtlHours;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private volatile Map<String, Object> lastReport = Map.of("status", "pending");
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            lastReport = Map.of("status", "disabled");
+            return;
+        }
+        lastReport = warmUp();
+    }
+
+    public Map<String, Object> getLastReport() {
+        return lastReport;
+    }
+
+    private Map<String, Object> warmUp() {
+        long start = System.nanoTime();
+
+        // LinkedHashSet : les noms du catalogue d'abord, puis les requêtes populaires, sans doublons
+        Set<String> keys = new LinkedHashSet<>();
+        int catalogKeys = addCatalogKeys(keys);
+        List<String> popular = loadPopularQueries();
+        int before = keys.size();
+        // Normalisées à nouveau : une liste écrite par une version antérieure peut contenir des saisies brutes
+        for (String query : popular) {
+            keys.add(TrendingService.normalize(query));
+        }
+        int popularKeys = keys.size() - before;
+
+        List<String> selected = new ArrayList<>(keys);
+        int skipped = Math.max(0, selected.size() - maxEntries);
+        if (skipped > 0) {
+            selected = selected.subList(0, maxEntries);
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        List<Callable<Boolean>> tasks = new ArrayList<>(selected.size());
+        for (String key : selected) {
+            tasks.add(() -> {
+                productService.checkProduct(key);
+                return true;
+            });
+        }
+
+        int warmed = 0;
+        int failed = 0;
+        int timedOut = 0;
+        try {
+            // invokeAll annule les tâches encore en cours lorsque le budget de temps est épuisé
+            for (Future<Boolean> future : executor.invokeAll(tasks, timeBudgetMs, TimeUnit.MILLISECONDS)) {
+                if (future.isCancelled()) {
+                    timedOut++;
+                    continue;
+                }
+                try {
+                    future.get();
+                    warmed++;
+                } catch (ExecutionException e) {
+                    failed++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("status", timedOut > 0 ? "partial" : "done");
+        report.put("catalogKeys", catalogKeys);
+        report.put("popularKeys", popularKeys);
+        report.put("popularQueriesSource", sharedCache != null ? "l2" : "file");
+        report.put("warmed", warmed);
+        report.put("failed", failed);
+        report.put("timedOut", timedOut);
+        report.put("skippedBySizeBudget", skipped);
+        report.put("threads", poolSize);
+        report.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return report;
+    }
+
+    // Noms du catalogue et des marques sous leur forme normalisée, celle de la clé du cache
+    private int addCatalogKeys(Set<String> keys) {
+        int before = keys.size();
+        for (Product product : productService.getAllBoycottedProducts()) {
+            keys.add(TrendingService.normalize(product.getName()));
+        }
+        for (String brand : productService.getBrandNames()) {
+            keys.add(TrendingService.normalize(brand));
+        }
+        for (Alternative alternative : productService.getAllAlternatives()) {
+            keys.add(TrendingService.normalize(alternative.getName()));
+        }
+        return keys.size() - before;
+    }
+
+    private List<String> loadPopularQueries() {
+        try {
+            if (sharedCache != null) {
+                byte[] stored = sharedCache.get(POPULAR_QUERIES_KEY);
+                return stored == null ? List.of() : mapper.readValue(stored, new TypeReference<List<String>>() {});
+            }
+            File file = new File(popularQueriesFile);
+            if (!file.isFile()) {
+                return List.of();
+            }
+            return mapper.readValue(file, new TypeReference<List<String>>() {});
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erreur lors de la lecture des requêtes populaires: " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    // Sauvegarde des requêtes populaires pour le prochain démarrage
+    @PreDestroy
+    public void savePopularQueries() {
+        List<String> popular = trendingService.getTopQueries(popularQueriesCount).stream()
+                .map(Map.Entry::getKey)
+                .toList();
+        if (popular.isEmpty()) {
+            return;
+        }
+        try {
+            if (sharedCache != null) {
+                // Les réplicas s'arrêtent l'un après l'autre : on complète la liste déjà enregistrée
+                // plutôt que de l'écraser, les requêtes de ce pod en tête
+                Set<String> merged = new LinkedHashSet<>(popular);
+                merged.addAll(loadPopularQueries());
+                List<String> kept = merged.stream().limit(popularQueriesCount).toList();
+                sharedCache.put(POPULAR_QUERIES_KEY, mapper.writeValueAsBytes(kept),
+                        Duration.ofHours(popularQueriesTtlHours));
+                return;
+            }
+            File file = new File(popularQueriesFile);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            mapper.writeValue(file, popular);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erreur lors de la sauvegarde des requêtes populaires: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+// src/main/java/com/consumesafe/app/service/CatalogVersion.java
+package com.consumesafe.app.service;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Version du catalogue chargé : empreinte SHA-256 du contenu des fichiers JSON, et date de
+ * dernière modification de ces fichiers.
+ * Deux réplicas qui servent le même catalogue ont la même version et la même date ; toute
+ * modification du catalogue en produit une nouvelle, ce qui invalide les entrées de cache
+ * correspondantes.
+ */
+@Component
+public class CatalogVersion {
+
+    private volatile String current = "none";
+    private volatile long lastModified = 0;
+
+    public String get() {
+        return current;
+    }
+
+    // Date (ms, précision à la seconde) de la modification la plus récente du catalogue, 0 si inconnue
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void update(long lastModifiedMillis, byte[]... contents) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] content : contents) {
+                digest.update(content);
+                digest.update("\n".getBytes(StandardCharsets.UTF_8));
+            }
+            // Précision à la seconde : celle des en-têtes Last-Modified / If-Modified-Since
+            lastModified = Math.max(0, lastModifiedMillis) / 1000 * 1000;
+            current = HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+// src/main/java/com/consumesafe/app/service/EditDistance.java
+package com.consumesafe.app.service;
+
+import java.util.Arrays;
+
+/**
+ * Distance de Levenshtein bornée, sans allocation par comparaison.
+ *
+ * La recherche floue ne s'intéresse qu'aux distances inférieures à un petit seuil : bounded(a, b, k)
+ * renvoie la distance exacte si elle vaut au plus k, sinon k + 1. Le noyau bit-parallèle de
+ * Myers/Hyyrö traite un caractère du texte par itération lorsque la plus courte chaîne tient dans
+ * 64 bits ; au-delà, une bande d'Ukkonen de largeur 2k + 1 prend le relais. Les tampons de travail
+ * sont réutilisés par thread.
+ */
+public final class EditDistance {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private EditDistance() {}
+
+    // Distance exacte (la borne ne peut jamais être dépassée)
+    public static int distance(CharSequence a, CharSequence b) {
+        return bounded(a, b, Math.max(a.length(), b.length()));
+    }
+
+    // Distance exacte si <= k, sinon k + 1
+    public static int bounded(CharSequence a, CharSequence b, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k doit être positif : " + k);
+        }
+        // Le motif (bit-vecteur) est la plus courte des deux chaînes
+        if (a.length() > b.length()) {
+            CharSequence tmp = a;
+            a = b;
+            b = tmp;
+        }
+        int m = a.length();
+        int n = b.length();
+
+        // Préfiltre : la différence de longueur est une borne inférieure de la distance
+        if (n - m > k) {
+            return k + 1;
+        }
+        if (m == 0) {
+            return n;
+        }
+        return m <= 64 ? myers(a, b, k) : banded(a, b, k);
+    }
+
+    private static int myers(CharSequence pattern, CharSequence text, int k) {
+        int m = pattern.length();
+        int n = text.length();
+        Scratch scratch = SCRATCH.get();
+        scratch.load(pattern);
+        try {
+            long pv = -1L;
+            long mv = 0L;
+            long last = 1L << (m - 1);
+            int score = m;
+
+            for (int j = 0; j < n; j++) {
+                long eq = scratch.mask(text.charAt(j));
+                long xv = eq | mv;
+                long xh = (((eq & pv) + pv) ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+                if ((ph & last) != 0) {
+                    score++;
+                } else if ((mh & last) != 0) {
+                    score--;
+                }
+                // Première ligne D[0][j] = j : on injecte un +1 horizontal
+                ph = (ph << 1) | 1L;
+                mh = mh << 1;
+                pv = mh | ~(xv | ph);
+                mv = ph & xv;
+
+                // Chaque caractère restant ne peut diminuer le score que de 1
+                if (score - (n - j - 1) > k) {
+                    return k + 1;
+                }
+            }
+            return Math.min(score, k + 1);
+        } finally {
+            scratch.clear(pattern);
+        }
+    }
+
+    private static int banded(CharSequence a, CharSequence b, int k) {
+        int m = a.length();
+        int n = b.length();
+        int inf = k + 1;
+        Scratch scratch = SCRATCH.get();
+        int[] prev = scratch.row(0, n + 1);
+        int[] curr = scratch.row(1, n + 1);
+
+        for (int j = 0; j <= n; j++) {
+            prev[j] = j <= k ? j : inf;
+        }
+        for (int i = 1; i <= m; i++) {
+            int lo = Math.max(1, i - k);
+            int hi = Math.min(n, i + k);
+            curr[lo - 1] = lo == 1 && i <= k ? i : inf;
+            int rowMin = curr[lo - 1];
+            char ca = a.charAt(i - 1);
+            for (int j = lo; j <= hi; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, curr[j - 1] + 1), prev[j - 1] + cost);
+                value = Math.min(value, inf);
+                curr[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (hi < n) {
+                curr[hi + 1] = inf;
+            }
+            if (rowMin > k) {
+                return inf;
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return Math.min(prev[n], inf);
+    }
+
+    // Tampons réutilisés par thread : masques Peq du motif et lignes de la bande
+    private static final class Scratch {
+        private static final int TABLE_SIZE = 128;
+
+        // Caractères ASCII indexés directement, les autres (arabe, accents) par adressage ouvert
+        private final long[] ascii = new long[128];
+        private final int[] keys = new int[TABLE_SIZE];
+        private final long[] masks = new long[TABLE_SIZE];
+        private int[][] rows = {new int[128], new int[128]};
+        private boolean wide;
+
+        Scratch() {
+            Arrays.fill(keys, -1);
+        }
+
+        void load(CharSequence pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c < 128) {
+                    ascii[c] |= 1L << i;
+                } else {
+                    int slot = slot(c);
+                    keys[slot] = c;
+                    wide = true;
+                    masks[slot] |= 1L << i;
+                }
+            }
+        }
+
+        long mask(char c) {
+            if (c < 128) {
+                return ascii[c];
+            }
+            int slot = hash(c);
+            while (keys[slot] != -1) {
+                if (keys[slot] == c) {
+                    return masks[slot];
+                }
+                slot = (slot + 1) & (TABLE_SIZE - 1);
+            }
+            return 0L;
+        }
+
+        void clear(CharSequence pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c < 128) {
+                    ascii[c] = 0L;
+                }
+            }
+            if (wide) {
+                // Au plus 64 caractères distincts : vider la table reste moins cher qu'une allocation
+                Arrays.fill(keys, -1);
+                Arrays.fill(masks, 0L);
+                wide = false;
+            }
+        }
+
+        int[] row(int index, int length) {
+            if (rows[index].length < length) {
+                rows[index] = new int[Math.max(length, rows[index].length * 2)];
+            }
+            return rows[index];
+        }
+
+        private int slot(char c) {
+            int slot = hash(c);
+            while (keys[slot] != -1 && keys[slot] != c) {
+                slot = (slot + 1) & (TABLE_SIZE - 1);
+            }
+            return slot;
+        }
+
+        private static int hash(char c) {
+            return (c * 0x9E3779B1) >>> 25;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+// src/main/java/com/consumesafe/app/service/OwnershipGraph.java
+package com.consumesafe.app.service;
+
+import com.consumesafe.app.model.Brand;
+import com.consumesafe.app.model.Product;
+
+import java.util.*;
+
+/**
+ * Graphe de propriété marque -> société mère -> groupe, résolu une fois par snapshot du catalogue.
+ *
+ * Chaque nom reçoit un identifiant entier ; le graphe est stocké dans un tableau parent[] (une
+ * marque n'a qu'une société mère). La fermeture transitive est précalculée : chaque marque pointe
+ * directement vers le produit de la liste de boycott qui la possède, et le verdict hérité est
+ * indexé par nom. Une vérification devient ainsi une seule recherche dans une HashMap.
+ */
+public final class OwnershipGraph {
+
+    private static final int UNRESOLVED = -1;
+    private static final int CYCLE = -2;
+
+    private final Map<String, Product> verdicts;
+    private final List<String> brandNames;
+    private final List<String> cycles;
+
+    private OwnershipGraph(Map<String, Product> verdicts, List<String> brandNames, List<String> cycles) {
+        this.verdicts = verdicts;
+        this.brandNames = brandNames;
+        this.cycles = cycles;
+    }
+
+    public static OwnershipGraph build(List<Product> catalog, List<Brand> brands) {
+        int catalogSize = catalog.size();
+        int nodeCount = catalogSize + brands.size();
+
+        // Identifiants : [0, catalogSize) = produits du catalogue, puis les marques
+        String[] names = new String[nodeCount];
+        Map<String, Integer> ids = new HashMap<>(nodeCount * 2);
+        for (int i = 0; i < catalogSize; i++) {
+            names[i] = catalog.get(i).getName();
+            ids.putIfAbsent(key(names[i]), i);
+        }
+        int next = catalogSize;
+        int[] brandIndex = new int[nodeCount];
+        for (int b = 0; b < brands.size(); b++) {
+            String name = brands.get(b).getName();
+            if (name == null || ids.containsKey(key(name))) {
+                // Le catalogue est prioritaire sur une marque du même nom
+                continue;
+            }
+            names[next] = name;
+            brandIndex[next] = b;
+            ids.put(key(name), next++);
+        }
+        nodeCount = next;
+
+        int[] parent = new int[nodeCount];
+        Arrays.fill(parent, UNRESOLVED);
+        for (int id = catalogSize; id < nodeCount; id++) {
+            String parentName = brands.get(brandIndex[id]).getParent();
+            Integer parentId = parentName == null ? null : ids.get(key(parentName));
+            parent[id] = parentId == null ? UNRESOLVED : parentId;
+        }
+
+        // root[id] : produit du catalogue qui possède id (UNRESOLVED, CYCLE, ou >= 0)
+        int[] root = new int[nodeCount];
+        int[] visiting = new int[nodeCount];
+        Arrays.fill(root, Integer.MIN_VALUE);
+        for (int i = 0; i < catalogSize; i++) {
+            root[i] = i;
+        }
+
+        List<String> cycles = new ArrayList<>();
+        int[] path = new int[nodeCount];
+        for (int start = catalogSize; start < nodeCount; start++) {
+            if (root[start] != Integer.MIN_VALUE) {
+                continue;
+            }
+            // Remontée itérative jusqu'à un nœud déjà résolu ; visiting[] = start détecte les cycles
+            int length = 0;
+            int current = start;
+            int resolved;
+            while (true) {
+                if (current < 0) {
+                    resolved = UNRESOLVED;
+                    break;
+                }
+                if (root[current] != Integer.MIN_VALUE) {
+                    resolved = root[current];
+                    break;
+                }
+                if (visiting[current] == start + 1) {
+                    resolved = CYCLE;
+                    cycles.add(describeCycle(names, parent, current));
+                    break;
+                }
+                visiting[current] = start + 1;
+                path[length++] = current;
+                current = parent[current];
+            }
+            for (int i = 0; i < length; i++) {
+                root[path[i]] = resolved;
+            }
+        }
+
+        Map<String, Product> verdicts = new HashMap<>(nodeCount * 2);
+        List<String> brandNames = new ArrayList<>();
+        for (int i = 0; i < catalogSize; i++) {
+            verdicts.putIfAbsent(key(names[i]), catalog.get(i));
+        }
+        for (int id = catalogSize; id < nodeCount; id++) {
+            if (root[id] < 0) {
+                continue;
+            }
+            Product owner = catalog.get(root[id]);
+            Brand brand = brands.get(brandIndex[id]);
+            String via = parent[id] == root[id] ? "" : " (via " + names[parent[id]] + ")";
+            verdicts.put(key(names[id]), new Product(
+                    names[id],
+                    "Appartient au groupe " + owner.getName() + via + " : " + owner.getReason(),
+                    owner.getSeverity(),
+                    brand.getCategory() != null ? brand.getCategory() : owner.getCategory()
+            ));
+            brandNames.add(names[id]);
+        }
+
+        return new OwnershipGraph(verdicts, List.copyOf(brandNames), List.copyOf(cycles));
+    }
+
+    // Verdict (produit du catalogue ou marque résolue) pour un nom, ou null
+    public Product lookup(String name) {
+        return name == null ? null : verdicts.get(key(name));
+    }
+
+    public List<String> getBrandNames() {
+        return brandNames;
+    }
+
+    public List<String> getCycles() {
+        return cycles;
+    }
+
+    private static String describeCycle(String[] names, int[] parent, int entry) {
+        StringBuilder cycle = new StringBuilder(names[entry]);
+        for (int current = parent[entry]; current != entry; current = parent[current]) {
+            cycle.append(" -> ").append(names[current]);
+        }
+        return cycle.append(" -> ").append(names[entry]).toString();
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -6,14 +6,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.consumesafe.app.dto.CheckResult;
 import com.consumesafe.app.model.Product;
 import com.consumesafe.app.model.Alternative;
+import com.consumesafe.app.model.Brand;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ResourceUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 
 import jakarta.annotation.PostConstruct;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URLConnection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.jar.JarEntry;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,8 +31,20 @@ public class ProductService {
 
     private List<Product> boycottList;
     private List<Alternative> alternativesList;
+    private OwnershipGraph ownershipGraph;
     private final ObjectMapper mapper = new ObjectMapper();
 
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    // Pool de calcul borné (voir ExecutionConfig) : la recherche floue ne bloque pas les threads I/O
+    @Autowired
+    @Qualifier("fuzzyMatchingExecutor")
+    private ExecutorService fuzzyMatchingExecutor;
+
     @PostConstruct
     public void init() {
         loadData();
@@ -30,30 +52,76 @@ public class ProductService {
 
     private void loadData() {
         try {
-            File boycottFile = ResourceUtils.getFile("classpath:boycott-list.json");
-            File alternativesFile = ResourceUtils.getFile("classpath:alternatives.json");
-
-            boycottList = mapper.readValue(boycottFile, new TypeReference<List<Product>>() {});
-            alternativesList = mapper.readValue(alternativesFile, new TypeReference<List<Alternative>>() {});
+            // Lus en flux depuis le classpath : fonctionne aussi depuis le jar exécutable (pas de File)
+            Resource boycottResource = new ClassPathResource("boycott-list.json");
+            Resource alternativesResource = new ClassPathResource("alternatives.json");
+            Resource brandsResource = new ClassPathResource("brands.json");
+
+            byte[] boycottData = readAllBytes(boycottResource);
+            byte[] alternativesData = readAllBytes(alternativesResource);
+            byte[] brandsData = readAllBytes(brandsResource);
+
+            boycottList = mapper.readValue(boycottData, new TypeReference<List<Product>>() {});
+            alternativesList = mapper.readValue(alternativesData, new TypeReference<List<Alternative>>() {});
+            List<Brand> brands = mapper.readValue(brandsData, new TypeReference<List<Brand>>() {});
+
+            // Version du catalogue : sert de préfixe aux clés du cache partagé entre réplicas.
+            // Date des entrées du jar (ou des fichiers) : identique sur tous les réplicas et après un redémarrage.
+            long lastModified = Math.max(lastModified(boycottResource),
+                    Math.max(lastModified(alternativesResource), lastModified(brandsResource)));
+            catalogVersion.update(lastModified, boycottData, alternativesData, brandsData);
+
+            // Fermeture transitive marque -> groupe, calculée une fois par chargement du catalogue
+            ownershipGraph = OwnershipGraph.build(boycottList, brands);
+            for (String cycle : ownershipGraph.getCycles()) {
+                System.err.println("Cycle dans le graphe de propriété ignoré : " + cycle);
+            }
         } catch (IOException e) {
             boycottList = List.of();
             alternativesList = List.of();
+            ownershipGraph = OwnershipGraph.build(List.of(), List.of());
             System.err.println("Erreur lors du chargement des données: " + e.getMessage());
         }
     }
 
-    @Cacheable(value = "searchResults", key = "#productName")
+    private static byte[] readAllBytes(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    // Date de modification de la ressource, 0 si elle n'est pas disponible. Dans un jar, c'est la date
+    // de l'entrée (celle du fichier empaqueté) et non celle du jar, que Resource.lastModified() renvoie
+    private static long lastModified(Resource resource) {
+        try {
+            URLConnection connection = resource.getURL().openConnection();
+            if (connection instanceof JarURLConnection jar) {
+                connection.setUseCaches(false);
+                JarEntry entry = jar.getJarEntry();
+                return entry != null ? Math.max(0, entry.getTime()) : 0;
+            }
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // Clé normalisée (espaces, casse) : "Coca Cola" et "coca cola " partagent la même entrée L1/L2.
+    // Un résultat dégradé (pool de calcul saturé) n'est pas mis en cache
+    @Cacheable(value = "searchResults",
+            key = "T(com.consumesafe.app.service.TrendingService).normalize(#productName)",
+            unless = "#result.degraded")
     public CheckResult checkProduct(String productName) {
-        CheckResult result = new CheckResult(productName);
+        // Le résultat est partagé par toutes les saisies de même clé : il affiche le nom du catalogue
+        // s'il est connu, sinon la saisie sans espaces superflus
+        CheckResult result = new CheckResult(productName == null ? null : productName.trim());
 
-        // 1. Vérifier d'abord si le produit est dans la liste de BOYCOTT
-        Product foundProduct = boycottList.stream()
-                .filter(item -> item.getName().equalsIgnoreCase(productName.trim()))
-                .findFirst()
-                .orElse(null);
+        // 1. Vérifier d'abord si le produit est dans la liste de BOYCOTT, ou une marque d'un groupe boycotté
+        Product foundProduct = ownershipGraph.lookup(productName);
 
         if (foundProduct != null) {
             // Produit trouvé dans la liste de boycott
+            result.setProductName(foundProduct.getName());
             result.setBoycotted(true);
             result.setMessage("⚠️ Ce produit est sur la liste de boycott");
             result.setReason(foundProduct.getReason());
@@ -74,13 +142,11 @@ public class ProductService {
         }
 
         // 2. Vérifier si le produit est dans la liste des ALTERNATIVES (produits sûrs/tunisiens)
-        Alternative foundAlternative = alternativesList.stream()
-                .filter(alt -> alt.getName().equalsIgnoreCase(productName.trim()))
-                .findFirst()
-                .orElse(null);
+        Alternative foundAlternative = findAlternative(productName);
 
         if (foundAlternative != null) {
             // Produit trouvé dans les alternatives - C'EST UN PRODUIT SÛR !
+            result.setProductName(foundAlternative.getName());
             result.setBoycotted(false);
             result.setProductFound(true);
             result.setMessage("✅ Excellent choix ! Ce produit est une alternative tunisienne recommandée 🇹🇳");
@@ -112,8 +178,22 @@ public class ProductService {
 
         // 3. Le produit n'est ni dans la liste de boycott, ni dans les alternatives
         // Recherche floue dans la liste de boycott ET les alternatives
-        List<Product> similarBoycottProducts = fuzzySearch(productName);
-        List<Alternative> similarAlternatives = fuzzySearchAlternatives(productName);
+        // Les deux recherches s'exécutent en parallèle sur le pool de calcul
+        List<Product> similarBoycottProducts;
+        List<Alternative> similarAlternatives;
+        try {
+            CompletableFuture<List<Product>> boycottMatches =
+                    CompletableFuture.supplyAsync(() -> fuzzySearch(productName), fuzzyMatchingExecutor);
+            CompletableFuture<List<Alternative>> alternativeMatches =
+                    CompletableFuture.supplyAsync(() -> fuzzySearchAlternatives(productName), fuzzyMatchingExecutor);
+            similarBoycottProducts = boycottMatches.join();
+            similarAlternatives = alternativeMatches.join();
+        } catch (RejectedExecutionException e) {
+            // Pool saturé : verdict "inconnu" sans suggestions plutôt que du calcul sur le thread de la requête
+            similarBoycottProducts = List.of();
+            similarAlternatives = List.of();
+            result.setDegraded(true);
+        }
 
         if (!similarBoycottProducts.isEmpty() || !similarAlternatives.isEmpty()) {
             // Des produits similaires existent - suggérer à l'utilisateur
@@ -198,13 +278,35 @@ public class ProductService {
 
         String lowerQuery = query.toLowerCase();
 
+        // Les produits les plus recherchés remontent en tête (tri stable : ordre du catalogue sinon)
         return boycottList.stream()
                 .map(Product::getName)
                 .filter(name -> name.toLowerCase().contains(lowerQuery))
+                .sorted(Comparator.comparingLong((String name) -> trendingService.estimate(name)).reversed())
                 .limit(5)
                 .collect(Collectors.toList());
     }
 
+    // Produits boycottés les plus recherchés en ce moment
+    public List<Map<String, Object>> getTrendingProducts(int limit) {
+        List<Map<String, Object>> trending = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : trendingService.getTopQueries(Integer.MAX_VALUE)) {
+            Product product = findBoycottedProduct(entry.getKey());
+            if (product != null) {
+                trending.add(Map.of(
+                        "name", product.getName(),
+                        "category", product.getCategory(),
+                        "severity", product.getSeverity(),
+                        "score", entry.getValue()
+                ));
+                if (trending.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return trending;
+    }
+
     // Recherche floue avec distance de Levenshtein améliorée
     public List<Product> fuzzySearch(String query) {
         if (query == null || query.trim().isEmpty()) {
@@ -216,26 +318,29 @@ public class ProductService {
         // Seuil de distance adaptatif basé sur la longueur de la requête
         int threshold = query.length() <= 5 ? 1 : (query.length() <= 10 ? 2 : 3);
 
+        // Distance calculée une seule fois par candidat (et non à chaque comparaison du tri)
         return boycottList.stream()
-                .filter(p -> {
-                    String name = p.getName().toLowerCase();
-                    // Recherche exacte par sous-chaîne
-                    if (name.contains(lowerQuery) || lowerQuery.contains(name)) {
-                        return true;
-                    }
-                    // Recherche avec distance de Levenshtein
-                    return levenshteinDistance(name, lowerQuery) <= threshold;
-                })
-                .sorted((p1, p2) -> {
-                    // Trier par pertinence (distance de Levenshtein)
-                    int dist1 = levenshteinDistance(p1.getName().toLowerCase(), lowerQuery);
-                    int dist2 = levenshteinDistance(p2.getName().toLowerCase(), lowerQuery);
-                    return Integer.compare(dist1, dist2);
-                })
+                .map(p -> Map.entry(p, matchDistance(p.getName(), lowerQuery, threshold)))
+                .filter(e -> e.getValue() >= 0)
+                .sorted(Map.Entry.<Product, Integer>comparingByValue())
                 .limit(5)
+                .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
     }
 
+    // Recherche floue pour les requêtes HTTP : exécutée sur le pool de calcul borné, jamais sur le
+    // thread de la requête (porteur d'un thread virtuel). null si le pool est saturé
+    public List<Product> fuzzySearchOnComputePool(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> fuzzySearch(query), fuzzyMatchingExecutor).join();
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
     // Recherche floue dans les ALTERNATIVES
     public List<Alternative> fuzzySearchAlternatives(String query) {
         if (query == null || query.trim().isEmpty()) {
@@ -246,45 +351,24 @@ public class ProductService {
         int threshold = query.length() <= 5 ? 1 : (query.length() <= 10 ? 2 : 3);
 
         return alternativesList.stream()
-                .filter(alt -> {
-                    String name = alt.getName().toLowerCase();
-                    if (name.contains(lowerQuery) || lowerQuery.contains(name)) {
-                        return true;
-                    }
-                    return levenshteinDistance(name, lowerQuery) <= threshold;
-                })
-                .sorted((a1, a2) -> {
-                    int dist1 = levenshteinDistance(a1.getName().toLowerCase(), lowerQuery);
-                    int dist2 = levenshteinDistance(a2.getName().toLowerCase(), lowerQuery);
-                    return Integer.compare(dist1, dist2);
-                })
+                .map(alt -> Map.entry(alt, matchDistance(alt.getName(), lowerQuery, threshold)))
+                .filter(e -> e.getValue() >= 0)
+                .sorted(Map.Entry.<Alternative, Integer>comparingByValue())
                 .limit(5)
+                .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
     }
 
-    // Distance de Levenshtein pour correction orthographique
-    private int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) {
-            dp[i][0] = i;
-        }
-        for (int j = 0; j <= s2.length(); j++) {
-            dp[0][j] = j;
-        }
-
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(
-                                dp[i - 1][j] + 1,      // Suppression
-                                dp[i][j - 1] + 1),     // Insertion
-                        dp[i - 1][j - 1] + cost        // Substitution
-                );
-            }
+    // Distance de Levenshtein du candidat si c'est une correspondance, -1 sinon
+    private int matchDistance(String candidate, String lowerQuery, int threshold) {
+        String name = candidate.toLowerCase();
+        // Recherche exacte par sous-chaîne : la distance complète sert uniquement au tri
+        if (name.contains(lowerQuery) || lowerQuery.contains(name)) {
+            return EditDistance.distance(name, lowerQuery);
         }
-
-        return dp[s1.length()][s2.length()];
+        // Sinon, inutile de calculer au-delà du seuil
+        int distance = EditDistance.bounded(name, lowerQuery, threshold);
+        return distance <= threshold ? distance : -1;
     }
 
     public Set<String> getAllCategories() {
@@ -301,6 +385,27 @@ public class ProductService {
                 ));
     }
 
+    // Produit boycotté ou marque d'un groupe boycotté (verdict hérité), sinon null
+    public Product findBoycottedProduct(String productName) {
+        return ownershipGraph.lookup(productName);
+    }
+
+    // Alternative tunisienne portant exactement ce nom (casse ignorée), sinon null
+    public Alternative findAlternative(String productName) {
+        if (productName == null) {
+            return null;
+        }
+        return alternativesList.stream()
+                .filter(alt -> alt.getName().equalsIgnoreCase(productName.trim()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Marques rattachées à un produit de la liste de boycott via le graphe de propriété
+    public List<String> getBrandNames() {
+        return ownershipGraph.getBrandNames();
+    }
+
     // Méthode pour vérifier si un produit existe dans la base
     public boolean productExists(String productName) {
         return boycottList.stream()
@@ -0,0 +1,159 @@
+// src/main/java/com/consumesafe/app/service/SitemapService.java
+package com.consumesafe.app.service;
+
+import com.consumesafe.app.model.Alternative;
+import com.consumesafe.app.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+import org.springframework.web.util.UriUtils;
+
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sitemap généré une fois par snapshot du catalogue : un index /sitemap.xml et des fichiers
+ * /sitemaps/sitemap-N.xml.gz déjà compressés, d'au plus 50 000 URL chacun (limite du protocole).
+ * Les octets sont servis tels quels depuis la mémoire ; le snapshot n'est reconstruit que si la
+ * version du catalogue change. La date de modification est celle du catalogue : tous les réplicas
+ * annoncent la même, et elle ne change pas à chaque redémarrage.
+ */
+@Service
+public class SitemapService {
+
+    // Limite du protocole sitemaps.org
+    private static final int MAX_URLS_PER_FILE = 50_000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${consumesafe.seo.base-url:https://consumesafe.tn}")
+    private String baseUrl;
+
+    @Value("${consumesafe.seo.sitemap-shard-size:50000}")
+    private int shardSize;
+
+    private volatile Snapshot snapshot;
+
+    // lastModified = 0 : date du catalogue inconnue, ni <lastmod> ni en-tête Last-Modified
+    public record Snapshot(String catalogVersion, long lastModified, byte[] index, List<byte[]> shards, int urlCount) {}
+
+    private record Entry(String path, String changefreq, String priority) {}
+
+    @PostConstruct
+    public void init() {
+        snapshot = build();
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (!current.catalogVersion().equals(catalogVersion.get())) {
+            synchronized (this) {
+                current = snapshot;
+                if (!current.catalogVersion().equals(catalogVersion.get())) {
+                    current = build();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private Snapshot build() {
+        String version = catalogVersion.get();
+        long lastModified = catalogVersion.getLastModified();
+        String lastmod = lastModified > 0
+                ? DateTimeFormatter.ISO_LOCAL_DATE.format(Instant.ofEpochMilli(lastModified).atZone(ZoneOffset.UTC))
+                : null;
+
+        List<Entry> entries = collectEntries();
+        int perFile = Math.max(1, Math.min(shardSize, MAX_URLS_PER_FILE));
+        List<byte[]> shards = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += perFile) {
+            shards.add(gzipShard(entries.subList(from, Math.min(entries.size(), from + perFile)), lastmod));
+        }
+
+        StringBuilder index = new StringBuilder();
+        index.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        index.append("<sitemapindex xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+        for (int i = 0; i < shards.size(); i++) {
+            index.append("  <sitemap>\n");
+            index.append("    <loc>").append(baseUrl).append("/sitemaps/sitemap-").append(i + 1).append(".xml.gz</loc>\n");
+            if (lastmod != null) {
+                index.append("    <lastmod>").append(lastmod).append("</lastmod>\n");
+            }
+            index.append("  </sitemap>\n");
+        }
+        index.append("</sitemapindex>");
+
+        return new Snapshot(version, lastModified, index.toString().getBytes(StandardCharsets.UTF_8),
+                List.copyOf(shards), entries.size());
+    }
+
+    // Pages statiques, puis une URL par produit (boycott, marques, alternatives) et par catégorie
+    private List<Entry> collectEntries() {
+        List<Entry> entries = new ArrayList<>();
+        entries.add(new Entry("/", "daily", "1.0"));
+        entries.add(new Entry("/list", "weekly", "0.9"));
+        entries.add(new Entry("/alternatives", "weekly", "0.9"));
+        entries.add(new Entry("/about", "monthly", "0.7"));
+
+        Set<String> products = new LinkedHashSet<>();
+        productService.getAllBoycottedProducts().stream().map(Product::getName).forEach(products::add);
+        products.addAll(productService.getBrandNames());
+        productService.getAllAlternatives().stream().map(Alternative::getName).forEach(products::add);
+        for (String name : products) {
+            entries.add(new Entry("/product/" + UriUtils.encodePathSegment(name, StandardCharsets.UTF_8), "weekly", "0.8"));
+        }
+        for (String category : new TreeSet<>(productService.getAllCategories())) {
+            entries.add(new Entry("/category/" + UriUtils.encodePathSegment(category, StandardCharsets.UTF_8), "weekly", "0.6"));
+        }
+        return entries;
+    }
+
+    // Écriture en flux directement dans le GZIP : pas de chaîne intermédiaire de plusieurs Mo
+    private byte[] gzipShard(List<Entry> entries, String lastmod) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer xml = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            xml.write("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+            for (Entry entry : entries) {
+                xml.write("  <url>\n    <loc>");
+                xml.write(HtmlUtils.htmlEscape(baseUrl + entry.path()));
+                xml.write("</loc>\n");
+                if (lastmod != null) {
+                    xml.write("    <lastmod>");
+                    xml.write(lastmod);
+                    xml.write("</lastmod>\n");
+                }
+                xml.write("    <changefreq>");
+                xml.write(entry.changefreq());
+                xml.write("</changefreq>\n    <priority>");
+                xml.write(entry.priority());
+                xml.write("</priority>\n  </url>\n");
+            }
+            xml.write("</urlset>");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,184 @@
+// src/main/java/com/consumesafe/app/service/TrendingService.java
+package com.consumesafe.app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suivi des requêtes les plus fréquentes (heavy hitters) en mémoire constante.
+ *
+ * Un Count-Min Sketch (depth x width compteurs) estime la fréquence de n'importe quelle requête,
+ * et un petit ensemble top-K garde les requêtes dominantes. Les compteurs sont divisés par deux à
+ * chaque fin de fenêtre par une tâche planifiée, ce qui donne une décroissance exponentielle : une
+ * requête populaire il y a plusieurs heures s'efface au profit de ce qui est recherché maintenant.
+ *
+ * Chemin chaud sans contention : chaque compteur est un LongAdder (cellules réparties entre les
+ * threads, fusionnées à la lecture), et une clé déjà suivie ne touche pas au top-K. Les scores du
+ * top-K sont relus dans le sketch au moment de la lecture.
+ */
+@Service
+public class TrendingService {
+
+    private final int depth;
+    private final int mask;
+    private final int topK;
+
+    private final LongAdder[] counters;
+    private final Set<String> topQueries = ConcurrentHashMap.newKeySet();
+
+    // Plus petit score du top-K au dernier recalcul : en dessous, inutile de prendre le verrou.
+    // Les scores ne font que croître entre deux décroissances, le seuil ne peut donc que sous-estimer.
+    private volatile long topThreshold = 0;
+
+    public TrendingService(@Value("${consumesafe.trending.width:2048}") int width,
+                           @Value("${consumesafe.trending.depth:4}") int depth,
+                           @Value("${consumesafe.trending.top-k:64}") int topK) {
+        // Largeur arrondie à une puissance de 2 pour remplacer le modulo par un masque
+        int actualWidth = width <= 16 ? 16 : Integer.highestOneBit(width - 1) << 1;
+        this.depth = Math.max(1, depth);
+        this.mask = actualWidth - 1;
+        this.topK = Math.max(1, topK);
+        this.counters = new LongAdder[this.depth * actualWidth];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    // Enregistre une requête de vérification
+    public void record(String query) {
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return;
+        }
+        int h1 = mix(key.hashCode());
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters[slot(row, h1, h2)].increment();
+        }
+        // Clé chaude déjà suivie : simple lecture, aucune écriture partagée
+        if (topQueries.contains(key)) {
+            return;
+        }
+        long estimate = estimate(h1, h2);
+        if (topQueries.size() >= topK && estimate <= topThreshold) {
+            return;
+        }
+        admit(key, estimate);
+    }
+
+    // Fréquence estimée (borne supérieure) d'une requête dans la fenêtre courante
+    public long estimate(String query) {
+        String key = normalize(query);
+        if (key.isEmpty()) {
+            return 0;
+        }
+        int h1 = mix(key.hashCode());
+        return estimate(h1, mix(h1 ^ 0x9E3779B9) | 1);
+    }
+
+    // Requêtes les plus fréquentes, triées par score décroissant
+    public List<Map.Entry<String, Long>> getTopQueries(int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(topQueries.size());
+        for (String key : topQueries) {
+            entries.add(Map.entry(key, estimate(key)));
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    // Fin de fenêtre : tous les compteurs sont divisés par deux, hors du chemin des requêtes
+    @Scheduled(fixedRateString = "${consumesafe.trending.window-minutes:60}",
+            initialDelayString = "${consumesafe.trending.window-minutes:60}",
+            timeUnit = TimeUnit.MINUTES)
+    public void decay() {
+        for (LongAdder counter : counters) {
+            // Les incréments concurrents à la remise à zéro sont conservés par add()
+            long value = counter.sumThenReset();
+            if (value > 1) {
+                counter.add(value >>> 1);
+            }
+        }
+        synchronized (topQueries) {
+            topQueries.removeIf(key -> estimate(key) == 0);
+            topThreshold = minTopScore();
+        }
+    }
+
+    private void admit(String key, long estimate) {
+        synchronized (topQueries) {
+            if (topQueries.contains(key)) {
+                return;
+            }
+            if (topQueries.size() < topK) {
+                topQueries.add(key);
+                topThreshold = minTopScore();
+                return;
+            }
+            String minKey = null;
+            long minValue = Long.MAX_VALUE;
+            for (String candidate : topQueries) {
+                long value = estimate(candidate);
+                if (value < minValue) {
+                    minValue = value;
+                    minKey = candidate;
+                }
+            }
+            if (minKey != null && estimate > minValue) {
+                topQueries.remove(minKey);
+                topQueries.add(key);
+                topThreshold = minTopScore();
+            } else {
+                topThreshold = minValue;
+            }
+        }
+    }
+
+    private long minTopScore() {
+        if (topQueries.size() < topK) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (String key : topQueries) {
+            min = Math.min(min, estimate(key));
+        }
+        return min;
+    }
+
+    private long estimate(int h1, int h2) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[slot(row, h1, h2)].sum());
+        }
+        return estimate;
+    }
+
+    private int slot(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    // Forme canonique d'une requête : sert aussi de clé au cache "searchResults" (voir ProductService),
+    // si bien que les requêtes populaires sauvegardées sont exactement les clés à préchauffer
+    public static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Finaliseur de MurmurHash3 pour mieux répartir String.hashCode()
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
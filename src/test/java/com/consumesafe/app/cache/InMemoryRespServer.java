@@ -0,0 +1,145 @@
+package com.consumesafe.app.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serveur RESP embarqué pour les tests : GET, SET (options ignorées), DEL et PING en mémoire.
+ * Remplace un vrai Redis pour exercer RespSharedCache de bout en bout.
+ */
+class InMemoryRespServer implements AutoCloseable {
+
+	private final ServerSocket serverSocket;
+	private final Map<String, byte[]> data = new ConcurrentHashMap<>();
+	private final List<Socket> clients = new ArrayList<>();
+	private final Thread acceptor;
+
+	InMemoryRespServer() throws IOException {
+		this(0);
+	}
+
+	InMemoryRespServer(int port) throws IOException {
+		serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		acceptor = new Thread(this::acceptLoop, "resp-server");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	int size() {
+		return data.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		synchronized (clients) {
+			for (Socket client : clients) {
+				client.close();
+			}
+		}
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket client = serverSocket.accept();
+				synchronized (clients) {
+					clients.add(client);
+				}
+				Thread handler = new Thread(() -> serve(client), "resp-client");
+				handler.setDaemon(true);
+				handler.start();
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void serve(Socket client) {
+		try (client) {
+			InputStream in = new BufferedInputStream(client.getInputStream());
+			OutputStream out = new BufferedOutputStream(client.getOutputStream());
+			while (true) {
+				List<byte[]> command = readCommand(in);
+				if (command == null) {
+					return;
+				}
+				String name = new String(command.get(0), StandardCharsets.UTF_8).toUpperCase();
+				switch (name) {
+					case "GET" -> {
+						byte[] value = data.get(key(command));
+						if (value == null) {
+							out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+						} else {
+							out.write(("$" + value.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+							out.write(value);
+							out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+						}
+					}
+					case "SET" -> {
+						data.put(key(command), command.get(2));
+						out.write("+OK\r\n".getBytes(StandardCharsets.US_ASCII));
+					}
+					case "DEL" -> {
+						int removed = data.remove(key(command)) != null ? 1 : 0;
+						out.write((":" + removed + "\r\n").getBytes(StandardCharsets.US_ASCII));
+					}
+					case "PING" -> out.write("+PONG\r\n".getBytes(StandardCharsets.US_ASCII));
+					default -> out.write(("-ERR unknown command '" + name + "'\r\n").getBytes(StandardCharsets.US_ASCII));
+				}
+				out.flush();
+			}
+		} catch (IOException e) {
+			// Client déconnecté ou serveur arrêté
+		}
+	}
+
+	private static String key(List<byte[]> command) {
+		return new String(command.get(1), StandardCharsets.UTF_8);
+	}
+
+	private static List<byte[]> readCommand(InputStream in) throws IOException {
+		int type = in.read();
+		if (type == -1) {
+			return null;
+		}
+		int count = Integer.parseInt(readLine(in));
+		List<byte[]> parts = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			in.read(); // '$'
+			int length = Integer.parseInt(readLine(in));
+			parts.add(in.readNBytes(length));
+			readLine(in);
+		}
+		return parts;
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b;
+		while ((b = in.read()) != '\r') {
+			if (b == -1) {
+				throw new IOException("EOF");
+			}
+			line.write(b);
+		}
+		in.read();
+		return line.toString(StandardCharsets.US_ASCII);
+	}
+}
@@ -0,0 +1,44 @@
+package com.consumesafe.app.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RespSharedCacheTests {
+
+	@Test
+	void circuitOpensAfterFailureAndClosesAfterSuccessfulProbe() throws Exception {
+		int port;
+		try (ServerSocket free = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			port = free.getLocalPort();
+		}
+		byte[] value = "verdict".getBytes(StandardCharsets.UTF_8);
+
+		try (RespSharedCache cache = new RespSharedCache("localhost", port, 200, 2, 50, 300)) {
+			// Premier échec : vraie tentative de connexion
+			UncheckedIOException refused = assertThrows(UncheckedIOException.class, () -> cache.get("k"));
+			assertInstanceOf(ConnectException.class, refused.getCause());
+
+			// Circuit ouvert : échec immédiat, sans socket
+			UncheckedIOException open = assertThrows(UncheckedIOException.class, () -> cache.put("k", value, Duration.ofMinutes(1)));
+			assertTrue(open.getCause().getMessage().contains("circuit ouvert"));
+
+			try (InMemoryRespServer server = new InMemoryRespServer(port)) {
+				Thread.sleep(400);
+				// Échéance passée : la sonde réussit et le circuit se referme
+				cache.put("k", value, Duration.ofMinutes(1));
+				assertArrayEquals(value, cache.get("k"));
+			}
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.consumesafe.app.cache;
+
+import com.consumesafe.app.dto.CheckResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TwoTierCacheTests {
+
+	private InMemoryRespServer server;
+	private RespSharedCache l2;
+	private final AtomicReference<String> version = new AtomicReference<>("v1");
+
+	@BeforeEach
+	void startServer() throws Exception {
+		server = new InMemoryRespServer();
+		l2 = new RespSharedCache("localhost", server.getPort(), 500, 4, 500, 60_000);
+	}
+
+	@AfterEach
+	void stopServer() throws Exception {
+		l2.close();
+		server.close();
+	}
+
+	@Test
+	void replicaReadsVerdictComputedByAnotherReplica() {
+		TwoTierCache replicaA = newReplica();
+		TwoTierCache replicaB = newReplica();
+
+		replicaA.put("Nestlé", boycotted("Nestlé"));
+
+		CheckResult fromL2 = (CheckResult) replicaB.get("Nestlé").get();
+		assertEquals("Nestlé", fromL2.getProductName());
+		assertTrue(fromL2.isBoycotted());
+		assertEquals("medium", fromL2.getSeverity());
+
+		// Deuxième lecture : servie par le L1 du réplica B
+		assertNotNull(replicaB.get("Nestlé"));
+		Map<String, Object> stats = replicaB.getStats();
+		assertEquals(1L, stats.get("l1Hits"));
+		assertEquals(1L, stats.get("l2Hits"));
+		assertEquals(0L, stats.get("misses"));
+	}
+
+	@Test
+	void catalogReloadNeverServesStaleVerdicts() {
+		TwoTierCache replica = newReplica();
+		replica.put("Nestlé", boycotted("Nestlé"));
+		assertNotNull(replica.get("Nestlé"));
+
+		version.set("v2");
+
+		// L1 vidé et clé L2 d'une autre version : défaut de cache
+		assertNull(replica.get("Nestlé"));
+		assertEquals(1L, replica.getStats().get("misses"));
+		assertEquals(1, server.size());
+	}
+
+	@Test
+	void sharedCacheOutageFallsBackToLocalCache() throws Exception {
+		TwoTierCache replica = newReplica();
+		server.close();
+
+		replica.put("Pepsi", boycotted("Pepsi"));
+		assertNotNull(replica.get("Pepsi"));
+		assertNull(replica.get("Coca-Cola"));
+
+		Map<String, Object> stats = replica.getStats();
+		assertEquals(1L, stats.get("l1Hits"));
+		assertTrue((Long) stats.get("l2Errors") >= 2);
+	}
+
+	@Test
+	void localCacheIsBoundedAndKeepsRecentlyReadEntries() {
+		TwoTierCache local = new TwoTierCache("searchResults", CheckResult.class, 64, null, version::get, Duration.ofMinutes(5));
+		local.put("Starbucks", boycotted("Starbucks"));
+		for (int i = 0; i < 1000; i++) {
+			local.put("requête " + i, boycotted("requête " + i));
+			// Lue à chaque tour : jamais la moins récemment utilisée de son segment
+			assertNotNull(local.get("Starbucks"));
+		}
+
+		Map<String, Object> stats = local.getStats();
+		assertEquals(64, stats.get("l1Size"));
+		assertEquals(1001L - 64, stats.get("l1Evictions"));
+		assertEquals(1000L, stats.get("l1Hits"));
+		assertNull(local.get("requête 0"));
+	}
+
+	private TwoTierCache newReplica() {
+		return new TwoTierCache("searchResults", CheckResult.class, 1000, l2, version::get, Duration.ofMinutes(5));
+	}
+
+	private static CheckResult boycotted(String name) {
+		CheckResult result = new CheckResult(name);
+		result.setBoycotted(true);
+		result.setSeverity("medium");
+		result.setReason("Activités commerciales en Israël");
+		return result;
+	}
+}
@@ -0,0 +1,105 @@
+package com.consumesafe.app.loadtest;
+
+import com.consumesafe.app.ConsumeSafeApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comparaison reproductible des modes d'exécution platform / virtual, dans le même processus.
+ * Désactivé par défaut : mvn test -Dtest=ExecutionModeComparison -Dbenchmark=true
+ *
+ * Même harnais que le test de charge (LoadGenerator + Workload, même graine) : seul le mode change.
+ * Les formulaires POST /check y sont envoyés par des clients lents, qui transmettent le corps par
+ * morceaux : Tomcat garde alors la requête pendant la lecture du corps.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExecutionModeComparison {
+
+	private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 400);
+	private static final int SECONDS = Integer.getInteger("benchmark.seconds", 15);
+	private static final int SLOW_CLIENT_PAUSE_MS = Integer.getInteger("benchmark.slowClientPauseMs", 50);
+	private static final long SEED = Long.getLong("benchmark.seed", 42L);
+	private static final Duration WARMUP = Duration.ofSeconds(2);
+
+	@Test
+	void compareModes() throws Exception {
+		Result platform = run("platform");
+		Result virtual = run("virtual");
+
+		System.out.printf("%n%d connexions, %d s mesurées, clients lents sur POST /check (%d ms entre chaque morceau)%n",
+				CONNECTIONS, SECONDS, SLOW_CLIENT_PAUSE_MS);
+		System.out.printf("%-9s %-12s %9s %9s %9s %8s%n", "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "erreurs");
+		for (Result result : List.of(platform, virtual)) {
+			for (LoadGenerator.EndpointStats stats : result.report.values()) {
+				System.out.printf("%-9s %-12s %9.0f %9.1f %9.1f %8d%n", result.mode, stats.endpoint(),
+						stats.throughput(), stats.p50Ms(), stats.p99Ms(), stats.errors());
+			}
+		}
+		System.out.printf("%n%-9s %10s %14s%n", "mode", "threads", "Ko tas/conn.");
+		for (Result result : List.of(platform, virtual)) {
+			System.out.printf("%-9s %10d %14.1f%n", result.mode, result.peakThreads, result.heapKbPerConnection);
+		}
+	}
+
+	private Result run(String mode) throws Exception {
+		// Arguments de ligne de commande : contrairement à properties(...) (valeurs par défaut),
+		// ils l'emportent sur application.properties
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(ConsumeSafeApplication.class)
+				.run(
+						"--server.port=0",
+						"--consumesafe.execution.mode=" + mode,
+						"--consumesafe.warmup.enabled=false",
+						"--logging.level.root=WARN");
+		try {
+			// Sans cette vérification, les deux lignes du tableau pourraient mesurer le même mode
+			assertEquals("virtual".equals(mode),
+					context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false),
+					"spring.threads.virtual.enabled en mode " + mode);
+			int port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+			LoadGenerator generator = new LoadGenerator("http://localhost:" + port, CONNECTIONS, WARMUP,
+					Duration.ofSeconds(SECONDS), new Workload(1.1, SEED, SLOW_CLIENT_PAUSE_MS));
+
+			System.gc();
+			long baselineHeap = usedHeap();
+			Result result = new Result();
+			result.mode = mode;
+
+			// Threads et tas relevés à mi-parcours, pendant que toutes les connexions sont actives
+			// (les tampons de mesure du générateur sont les mêmes dans les deux modes)
+			Thread sampler = Thread.ofVirtual().start(() -> {
+				try {
+					Thread.sleep(WARMUP.toMillis() + SECONDS * 500L);
+					result.peakThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+					result.heapKbPerConnection = Math.max(0, usedHeap() - baselineHeap) / 1024.0 / CONNECTIONS;
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			result.report = generator.run();
+			sampler.join();
+			return result;
+		} finally {
+			context.close();
+		}
+	}
+
+	private static long usedHeap() {
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static final class Result {
+		String mode;
+		Map<String, LoadGenerator.EndpointStats> report;
+		volatile int peakThreads;
+		volatile double heapKbPerConnection;
+	}
+}
@@ -0,0 +1,184 @@
+package com.consumesafe.app.loadtest;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Générateur de charge en boucle fermée : N utilisateurs virtuels enchaînent les actions du
+ * Workload sans temps de réflexion. Les mesures de la période de préchauffage sont ignorées.
+ * Utilisé par le test de charge (ServiceLoadIT) et par la comparaison des modes d'exécution.
+ */
+class LoadGenerator {
+
+	private final String baseUrl;
+	private final int users;
+	private final Duration warmup;
+	private final Duration duration;
+	private final Workload workload;
+	private final HttpClient client;
+
+	LoadGenerator(String baseUrl, int users, Duration warmup, Duration duration, Workload workload) {
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		this.users = users;
+		this.warmup = warmup;
+		this.duration = duration;
+		this.workload = workload;
+		this.client = HttpClient.newBuilder()
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	Map<String, EndpointStats> run() throws InterruptedException {
+		long start = System.nanoTime();
+		long measureFrom = start + warmup.toNanos();
+		long deadline = measureFrom + duration.toNanos();
+		List<Map<String, Samples>> perUser = new ArrayList<>();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int user = 0; user < users; user++) {
+				Map<String, Samples> samples = new HashMap<>();
+				SplittableRandom random = workload.randomFor(user);
+				perUser.add(samples);
+				executor.submit(() -> {
+					while (System.nanoTime() < deadline) {
+						for (Workload.Request request : workload.nextAction(random)) {
+							long begin = System.nanoTime();
+							boolean ok = send(request);
+							long end = System.nanoTime();
+							if (begin >= measureFrom && end <= deadline) {
+								samples.computeIfAbsent(request.endpoint(), k -> new Samples()).add(end - begin, ok);
+							}
+						}
+					}
+					return null;
+				});
+			}
+			executor.shutdown();
+			executor.awaitTermination(warmup.plus(duration).toSeconds() + 60, TimeUnit.SECONDS);
+		}
+
+		// Fusion des mesures de chaque utilisateur, triées par endpoint
+		Map<String, Samples> merged = new TreeMap<>();
+		for (Map<String, Samples> samples : perUser) {
+			samples.forEach((endpoint, s) -> merged.computeIfAbsent(endpoint, k -> new Samples()).addAll(s));
+		}
+		Map<String, EndpointStats> report = new LinkedHashMap<>();
+		merged.forEach((endpoint, s) -> report.put(endpoint, s.toStats(endpoint, duration)));
+		return report;
+	}
+
+	private boolean send(Workload.Request request) {
+		try {
+			if (request.form() != null && request.bodyPauseMs() > 0) {
+				return sendSlowly(request);
+			}
+			HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+					.timeout(Duration.ofSeconds(10));
+			if (request.form() == null) {
+				builder.GET();
+			} else {
+				builder.header("Content-Type", "application/x-www-form-urlencoded")
+						.POST(HttpRequest.BodyPublishers.ofString(request.form()));
+			}
+			HttpResponse<Void> response = client.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+			return response.statusCode() == 200;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	// Client lent : en-têtes envoyés d'un coup, corps du formulaire en trois morceaux espacés.
+	// Tomcat garde la requête (et en mode platform, un thread du pool) pendant la lecture du corps.
+	private boolean sendSlowly(Workload.Request request) throws Exception {
+		URI uri = URI.create(baseUrl);
+		byte[] body = request.form().getBytes(StandardCharsets.UTF_8);
+		String headers = "POST " + request.path() + " HTTP/1.1\r\nHost: " + uri.getHost() + "\r\n"
+				+ "Content-Type: application/x-www-form-urlencoded\r\n"
+				+ "Content-Length: " + body.length + "\r\nConnection: close\r\n\r\n";
+		try (Socket socket = new Socket(uri.getHost(), uri.getPort())) {
+			socket.setSoTimeout(10_000);
+			OutputStream out = socket.getOutputStream();
+			out.write(headers.getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			int chunk = Math.max(1, (body.length + 2) / 3);
+			for (int offset = 0; offset < body.length; offset += chunk) {
+				Thread.sleep(request.bodyPauseMs());
+				out.write(body, offset, Math.min(chunk, body.length - offset));
+				out.flush();
+			}
+			InputStream in = socket.getInputStream();
+			String response = new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+			return response.startsWith("HTTP/1.1 200");
+		}
+	}
+
+	record EndpointStats(String endpoint, long requests, long errors, double throughput,
+						 double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+
+		double errorRate() {
+			return requests == 0 ? 0 : (double) errors / requests;
+		}
+	}
+
+	// Tampon de latences extensible, propre à un utilisateur virtuel (pas de contention)
+	private static final class Samples {
+		private long[] latencies = new long[1024];
+		private int count;
+		private long errors;
+
+		void add(long nanos, boolean ok) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+			if (!ok) {
+				errors++;
+			}
+		}
+
+		void addAll(Samples other) {
+			for (int i = 0; i < other.count; i++) {
+				add(other.latencies[i], true);
+			}
+			errors += other.errors;
+		}
+
+		EndpointStats toStats(String endpoint, Duration duration) {
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			return new EndpointStats(endpoint, count, errors, count / (double) duration.toSeconds(),
+					percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+					sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+		}
+
+		private static double percentile(long[] sorted, double p) {
+			if (sorted.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(p * sorted.length) - 1;
+			return sorted[Math.max(0, index)] / 1_000_000.0;
+		}
+	}
+}
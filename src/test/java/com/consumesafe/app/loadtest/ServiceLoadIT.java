@@ -0,0 +1,88 @@
+package com.consumesafe.app.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test de charge de bout en bout (Tomcat + Spring + Thymeleaf) avec vérification des SLO :
+ * API JSON (check, suggestions) et pages rendues par Thymeleaf (result = POST /check, list).
+ * Lancé uniquement par le profil Maven "loadtest", qui démarre l'application avant la phase
+ * integration-test et l'arrête ensuite :
+ *
+ *   mvn -Ploadtest verify
+ *   mvn -Ploadtest verify -Dloadtest.users=128 -Dloadtest.slo.check.p99Ms=30
+ *
+ * loadtest.seed fixe la suite de requêtes de chaque utilisateur virtuel (exécutions comparables).
+ *
+ * Tout dépassement d'un seuil fait échouer le build.
+ */
+class ServiceLoadIT {
+
+	private static final List<String> ENDPOINTS = List.of("check", "result", "suggestions", "list");
+
+	@Test
+	void sustainsTargetLoadWithinSlo() throws Exception {
+		String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8081");
+		int users = Integer.getInteger("loadtest.users", 64);
+		Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 10));
+		Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60));
+		double zipfExponent = Double.parseDouble(System.getProperty("loadtest.zipfExponent", "1.1"));
+		long seed = Long.getLong("loadtest.seed", 42L);
+
+		Map<String, LoadGenerator.EndpointStats> report =
+				new LoadGenerator(baseUrl, users, warmup, duration, new Workload(zipfExponent, seed)).run();
+
+		printReport(baseUrl, users, duration, report);
+
+		List<String> violations = new ArrayList<>();
+		double totalThroughput = 0;
+		for (String endpoint : ENDPOINTS) {
+			LoadGenerator.EndpointStats stats = report.get(endpoint);
+			if (stats == null || stats.requests() == 0) {
+				violations.add(endpoint + " : aucune requête mesurée");
+				continue;
+			}
+			totalThroughput += stats.throughput();
+			double p99Limit = slo(endpoint + ".p99Ms");
+			if (stats.p99Ms() > p99Limit) {
+				violations.add(String.format("%s : p99 %.1f ms > %.1f ms", endpoint, stats.p99Ms(), p99Limit));
+			}
+			double maxErrorRate = slo("maxErrorRate");
+			if (stats.errorRate() > maxErrorRate) {
+				violations.add(String.format("%s : taux d'erreur %.4f > %.4f", endpoint, stats.errorRate(), maxErrorRate));
+			}
+		}
+		double minThroughput = slo("minThroughput");
+		if (totalThroughput < minThroughput) {
+			violations.add(String.format("débit total %.0f req/s < %.0f req/s", totalThroughput, minThroughput));
+		}
+
+		assertTrue(violations.isEmpty(), () -> "SLO non respectés :\n  " + String.join("\n  ", violations));
+	}
+
+	private static double slo(String name) {
+		String value = System.getProperty("loadtest.slo." + name);
+		if (value == null || value.isBlank()) {
+			throw new IllegalStateException("Seuil manquant : loadtest.slo." + name);
+		}
+		return Double.parseDouble(value);
+	}
+
+	private static void printReport(String baseUrl, int users, Duration duration,
+									Map<String, LoadGenerator.EndpointStats> report) {
+		System.out.printf("%nTest de charge : %s, %d utilisateurs, %d s mesurées%n", baseUrl, users, duration.toSeconds());
+		System.out.printf("%-12s %9s %8s %9s %8s %8s %8s %8s%n",
+				"endpoint", "requêtes", "erreurs", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+		for (LoadGenerator.EndpointStats stats : report.values()) {
+			System.out.printf("%-12s %9d %8d %9.1f %8.1f %8.1f %8.1f %8.1f%n",
+					stats.endpoint(), stats.requests(), stats.errors(), stats.throughput(),
+					stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs());
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.consumesafe.app.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Mélange de requêtes réaliste pour le test de charge.
+ *
+ * La popularité des produits suit une loi de Zipf : quelques marques concentrent l'essentiel des
+ * vérifications, la longue traîne le reste. Chaque "action" d'un utilisateur virtuel produit une
+ * ou plusieurs requêtes HTTP (une rafale d'autocomplétion = une requête par frappe).
+ *
+ * Chaque utilisateur virtuel tire ses actions d'un générateur dérivé de la graine et de son
+ * numéro : à graine égale, chaque utilisateur rejoue exactement la même suite de requêtes.
+ */
+class Workload {
+
+	// Répartition des actions (en %)
+	static final int EXACT_HIT = 25;
+	// Formulaire de la page d'accueil : POST /check rendu par Thymeleaf
+	static final int FORM_CHECK = 10;
+	static final int FRENCH_TYPO = 10;
+	static final int ARABIC_QUERY = 8;
+	static final int UNKNOWN_JUNK = 7;
+	static final int AUTOCOMPLETE_BURST = 28;
+	static final int LIST_PAGE = 12;
+
+	private static final List<String> EXACT = List.of(
+			"Coca-Cola", "Pepsi", "McDonald's", "Starbucks", "Nestlé", "Danone", "Carrefour", "L'Oréal",
+			"Nescafé", "Fanta", "Sprite", "Lay's", "Evian", "Activia", "Garnier", "Puma", "HP", "AXA",
+			"SodaStream", "KitKat", "Nesquik", "Maggi", "Perrier", "Safia", "Vitalait", "Délice Danone",
+			"Jaouda", "Boga Cidre", "Mabrouk", "Sicam", "Aziza", "Monoprix", "Maybelline", "Doritos",
+			"7Up", "Mirinda", "Gatorade", "Volvic", "Danette", "Tofita", "Uno", "Géant", "Vittel");
+
+	// Fautes de frappe courantes (accents oubliés, lettres doublées ou inversées)
+	private static final List<String> FRENCH_TYPOS = List.of(
+			"coca cola", "cocacola", "pepssi", "mcdonalds", "mc donald", "starbuks", "nestle", "carefour",
+			"danon", "loreal", "l oreal", "nescafe", "vitalai", "delice danone", "jaoda", "garnie",
+			"activa", "evain", "sprit", "kit kat");
+
+	// Requêtes en arabe, dont translittérations approximatives
+	private static final List<String> ARABIC = List.of(
+			"كوكا كولا", "كوكاكولا", "بيبسي", "ماكدونالدز", "ستاربكس", "نستله", "نسكافيه", "كارفور",
+			"دانون", "لوريال", "فانتا", "سبرايت", "بوما", "صافية", "فيتالي");
+
+	private final long seed;
+	private final int slowFormPauseMs;
+	private final List<String> ranked;
+	private final double[] cumulative;
+
+	Workload(double zipfExponent, long seed) {
+		this(zipfExponent, seed, 0);
+	}
+
+	// slowFormPauseMs > 0 : le corps des formulaires est envoyé en trois morceaux espacés (client lent)
+	Workload(double zipfExponent, long seed, int slowFormPauseMs) {
+		this.seed = seed;
+		this.slowFormPauseMs = slowFormPauseMs;
+		// Rang de popularité déterministe pour des résultats reproductibles
+		List<String> pool = new ArrayList<>(EXACT);
+		Collections.shuffle(pool, new Random(seed));
+		this.ranked = List.copyOf(pool);
+		this.cumulative = new double[ranked.size()];
+		double sum = 0;
+		for (int rank = 0; rank < ranked.size(); rank++) {
+			sum += 1.0 / Math.pow(rank + 1, zipfExponent);
+			cumulative[rank] = sum;
+		}
+		for (int rank = 0; rank < cumulative.length; rank++) {
+			cumulative[rank] /= sum;
+		}
+	}
+
+	// Générateur propre à un utilisateur virtuel, déterminé par la graine et son numéro
+	SplittableRandom randomFor(int user) {
+		return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + user);
+	}
+
+	// Prochaine action d'un utilisateur : liste de requêtes à enchaîner
+	List<Request> nextAction(SplittableRandom random) {
+		int roll = random.nextInt(100);
+		if ((roll -= EXACT_HIT) < 0) {
+			return List.of(check(popular(random)));
+		}
+		if ((roll -= FORM_CHECK) < 0) {
+			String form = "productName=" + encode(popular(random));
+			return List.of(new Request("result", "/check", form, slowFormPauseMs));
+		}
+		if ((roll -= FRENCH_TYPO) < 0) {
+			return List.of(check(pick(FRENCH_TYPOS, random)));
+		}
+		if ((roll -= ARABIC_QUERY) < 0) {
+			return List.of(check(pick(ARABIC, random)));
+		}
+		if ((roll -= UNKNOWN_JUNK) < 0) {
+			return List.of(check(junk(random)));
+		}
+		if ((roll -= AUTOCOMPLETE_BURST) < 0) {
+			return autocompleteBurst(popular(random).toLowerCase());
+		}
+		return List.of(Request.get("list", "/list"));
+	}
+
+	// Une requête /api/suggestions par frappe à partir de 2 caractères, puis la vérification
+	private static List<Request> autocompleteBurst(String target) {
+		List<Request> burst = new ArrayList<>();
+		for (int length = 2; length <= target.length(); length++) {
+			burst.add(Request.get("suggestions", "/api/suggestions?query=" + encode(target.substring(0, length))));
+		}
+		burst.add(check(target));
+		return burst;
+	}
+
+	private String popular(SplittableRandom random) {
+		double u = random.nextDouble();
+		int low = 0;
+		int high = cumulative.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] < u) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return ranked.get(low);
+	}
+
+	private static String junk(SplittableRandom random) {
+		String alphabet = "abcdefghijklmnopqrstuvwxyz0123456789 ";
+		int length = 4 + random.nextInt(16);
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return builder.toString().trim() + "x";
+	}
+
+	private static String pick(List<String> values, SplittableRandom random) {
+		return values.get(random.nextInt(values.size()));
+	}
+
+	private static Request check(String name) {
+		return Request.get("check", "/api/check?name=" + encode(name));
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	// form == null : requête GET ; sinon POST application/x-www-form-urlencoded
+	record Request(String endpoint, String path, String form, int bodyPauseMs) {
+
+		static Request get(String endpoint, String path) {
+			return new Request(endpoint, path, null, 0);
+		}
+	}
+}
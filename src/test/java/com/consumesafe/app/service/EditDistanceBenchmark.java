@@ -0,0 +1,76 @@
+package com.consumesafe.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+
+/**
+ * Comparaison ancienne matrice 2D / noyau borné sur la charge réelle de la recherche floue.
+ * Désactivé par défaut : mvn test -Dtest=EditDistanceBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EditDistanceBenchmark {
+
+	private static final List<String> NAMES = List.of(
+			"coca-cola", "pepsi", "mcdonald's", "starbucks", "nestlé", "hp", "carrefour", "danone",
+			"l'oréal", "puma", "axa", "sodastream", "boga cidre", "safia", "délice danone", "vitalait",
+			"jaouda", "mabrouk", "sicam", "tofita", "uno", "monoprix", "géant", "aziza"
+	);
+
+	// Fautes de frappe, requêtes en arabe et requêtes inconnues (le chemin coûteux)
+	private static final List<String> QUERIES = List.of(
+			"coca cola", "cocacola", "pepssi", "mc donalds", "starbuks", "nestle", "carefour",
+			"danon", "loreal", "kokakola", "كوكا كولا", "بيبسي", "ستاربكس", "xyzzy", "produit inconnu 123",
+			"vitalai", "delice", "tofitta"
+	);
+
+	@Test
+	void compareKernels() {
+		for (int round = 0; round < 6; round++) {
+			long legacy = run(true, 200);
+			long bounded = run(false, 200);
+			System.out.printf("round %d : matrice 2D %.1f ns/comparaison, noyau borné %.1f ns/comparaison (x%.1f)%n",
+					round, perComparison(legacy, 200), perComparison(bounded, 200), (double) legacy / bounded);
+		}
+	}
+
+	private static long run(boolean legacy, int iterations) {
+		long sink = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			for (String query : QUERIES) {
+				int threshold = query.length() <= 5 ? 1 : (query.length() <= 10 ? 2 : 3);
+				for (String name : NAMES) {
+					sink += legacy ? legacyDistance(name, query) : EditDistance.bounded(name, query, threshold);
+				}
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (sink == 42) {
+			System.out.println();
+		}
+		return elapsed;
+	}
+
+	private static double perComparison(long nanos, int iterations) {
+		return (double) nanos / ((long) iterations * QUERIES.size() * NAMES.size());
+	}
+
+	private static int legacyDistance(String s1, String s2) {
+		int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+		for (int i = 0; i <= s1.length(); i++) {
+			dp[i][0] = i;
+		}
+		for (int j = 0; j <= s2.length(); j++) {
+			dp[0][j] = j;
+		}
+		for (int i = 1; i <= s1.length(); i++) {
+			for (int j = 1; j <= s2.length(); j++) {
+				int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+				dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+			}
+		}
+		return dp[s1.length()][s2.length()];
+	}
+}
@@ -0,0 +1,94 @@
+package com.consumesafe.app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EditDistanceTests {
+
+	// Alphabets réduits pour provoquer beaucoup de correspondances, plus l'arabe et les accents (hors ASCII)
+	private static final String[] ALPHABETS = {
+			"ab",
+			"abcdé",
+			"abcdefghijklmnopqrstuvwxyz' -",
+			"كوكاكولا",
+			"aéèçàبتث"
+	};
+
+	@Test
+	void boundedMatchesReferenceImplementation() {
+		Random random = new Random(42);
+		for (int i = 0; i < 50_000; i++) {
+			String alphabet = ALPHABETS[random.nextInt(ALPHABETS.length)];
+			// Un quart des cas dépasse 64 caractères pour couvrir la bande d'Ukkonen
+			int maxLength = random.nextInt(4) == 0 ? 140 : 20;
+			String a = randomString(random, alphabet, maxLength);
+			String b = random.nextBoolean() ? randomString(random, alphabet, maxLength) : mutate(random, a, alphabet);
+			int k = random.nextInt(6);
+			int expected = referenceDistance(a, b);
+
+			assertEquals(Math.min(expected, k + 1), EditDistance.bounded(a, b, k), () -> a + " / " + b + " / k=" + k);
+			assertEquals(expected, EditDistance.distance(a, b), () -> a + " / " + b);
+		}
+	}
+
+	@Test
+	void handlesEdgeCases() {
+		assertEquals(0, EditDistance.distance("", ""));
+		assertEquals(3, EditDistance.distance("", "abc"));
+		assertEquals(1, EditDistance.distance("coca-cola", "coca cola"));
+		assertEquals(1, EditDistance.bounded("nestlé", "nestle", 1));
+		assertEquals(2, EditDistance.bounded("starbucks", "strabucks", 5));
+		// Préfiltre sur la différence de longueur
+		assertEquals(2, EditDistance.bounded("hp", "hewlett-packard", 1));
+		// Motif de 64 caractères exactement : dernier bit du mot long
+		String sixtyFour = "a".repeat(64);
+		assertEquals(1, EditDistance.distance(sixtyFour, "a".repeat(63) + "b"));
+	}
+
+	// Ancienne implémentation (matrice complète) servant de référence
+	private static int referenceDistance(String s1, String s2) {
+		int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+		for (int i = 0; i <= s1.length(); i++) {
+			dp[i][0] = i;
+		}
+		for (int j = 0; j <= s2.length(); j++) {
+			dp[0][j] = j;
+		}
+		for (int i = 1; i <= s1.length(); i++) {
+			for (int j = 1; j <= s2.length(); j++) {
+				int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+				dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+			}
+		}
+		return dp[s1.length()][s2.length()];
+	}
+
+	private static String randomString(Random random, String alphabet, int maxLength) {
+		int length = random.nextInt(maxLength + 1);
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return builder.toString();
+	}
+
+	// Quelques insertions, suppressions et substitutions : produit des paires proches du seuil
+	private static String mutate(Random random, String source, String alphabet) {
+		StringBuilder builder = new StringBuilder(source);
+		int edits = random.nextInt(5);
+		for (int i = 0; i < edits; i++) {
+			int op = random.nextInt(3);
+			if (op == 0 || builder.length() == 0) {
+				builder.insert(random.nextInt(builder.length() + 1), alphabet.charAt(random.nextInt(alphabet.length())));
+			} else if (op == 1) {
+				builder.deleteCharAt(random.nextInt(builder.length()));
+			} else {
+				builder.setCharAt(random.nextInt(builder.length()), alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,110 @@
+package com.consumesafe.app.service;
+
+import com.consumesafe.app.model.Brand;
+import com.consumesafe.app.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OwnershipGraphTests {
+
+	private static final Product NESTLE = new Product("Nestlé", "Usine en territoire occupé", "high", "Alimentation");
+	private static final Product DANONE = new Product("Danone", "Partenariat avec Strauss", "medium", "Produits laitiers");
+
+	@Test
+	void resolvesBrandsTransitivelyToTheCatalogProduct() {
+		OwnershipGraph graph = OwnershipGraph.build(List.of(NESTLE, DANONE), List.of(
+				new Brand("Nestlé Waters", "Nestlé", "Eaux"),
+				new Brand("Perrier", "Nestlé Waters", null),
+				new Brand("Activia", "danone", null)));
+
+		Product perrier = graph.lookup("  PERRIER ");
+		assertNotNull(perrier);
+		assertEquals("Perrier", perrier.getName());
+		assertEquals("high", perrier.getSeverity());
+		// Catégorie héritée du groupe si la marque n'en déclare pas
+		assertEquals("Alimentation", perrier.getCategory());
+		assertEquals("Appartient au groupe Nestlé (via Nestlé Waters) : Usine en territoire occupé", perrier.getReason());
+
+		Product waters = graph.lookup("nestlé waters");
+		assertEquals("Eaux", waters.getCategory());
+		assertEquals("Appartient au groupe Nestlé : Usine en territoire occupé", waters.getReason());
+
+		assertEquals("medium", graph.lookup("activia").getSeverity());
+		assertSame(NESTLE, graph.lookup("nestlé"));
+		assertNull(graph.lookup("Vitalait"));
+		assertNull(graph.lookup(null));
+		assertEquals(List.of("Nestlé Waters", "Perrier", "Activia"), graph.getBrandNames());
+		assertTrue(graph.getCycles().isEmpty());
+	}
+
+	@Test
+	void cyclesAndTheirTailsStayUnresolved() {
+		OwnershipGraph graph = OwnershipGraph.build(List.of(NESTLE), List.of(
+				new Brand("Alpha", "Beta", null),
+				new Brand("Beta", "Alpha", null),
+				// Queue qui mène au cycle
+				new Brand("Gamma", "Alpha", null),
+				// Boucle sur elle-même
+				new Brand("Self", "Self", null),
+				new Brand("Nescafé", "Nestlé", null)));
+
+		assertNull(graph.lookup("Alpha"));
+		assertNull(graph.lookup("Beta"));
+		assertNull(graph.lookup("Gamma"));
+		assertNull(graph.lookup("Self"));
+		assertNotNull(graph.lookup("Nescafé"));
+		assertEquals(List.of("Alpha -> Beta -> Alpha", "Self -> Self"), graph.getCycles());
+		assertEquals(List.of("Nescafé"), graph.getBrandNames());
+	}
+
+	@Test
+	void orphanParentLeavesBrandUnresolved() {
+		OwnershipGraph graph = OwnershipGraph.build(List.of(NESTLE), List.of(
+				new Brand("Orphan", "Groupe inconnu", null),
+				new Brand("Child", "Orphan", null),
+				new Brand("Rootless", null, null)));
+
+		assertNull(graph.lookup("Orphan"));
+		assertNull(graph.lookup("Child"));
+		assertNull(graph.lookup("Rootless"));
+		assertTrue(graph.getBrandNames().isEmpty());
+		assertTrue(graph.getCycles().isEmpty());
+	}
+
+	@Test
+	void catalogNameShadowsBrandOfTheSameName() {
+		// "Danone" déclaré comme filiale de Nestlé : le verdict du catalogue reste prioritaire
+		OwnershipGraph graph = OwnershipGraph.build(List.of(NESTLE, DANONE), List.of(
+				new Brand("danone", "Nestlé", null),
+				new Brand("Danette", "Danone", null)));
+
+		assertSame(DANONE, graph.lookup("Danone"));
+		assertEquals("Appartient au groupe Danone : Partenariat avec Strauss", graph.lookup("Danette").getReason());
+		assertEquals(List.of("Danette"), graph.getBrandNames());
+	}
+
+	@Test
+	void deepChainIsResolvedWithoutRecursion() {
+		int depth = 200_000;
+		List<Brand> brands = new ArrayList<>(depth);
+		// Déclarées de la feuille vers la racine : la première remontée parcourt toute la chaîne
+		for (int i = depth - 1; i >= 0; i--) {
+			brands.add(new Brand("Marque " + i, i == 0 ? "Nestlé" : "Marque " + (i - 1), null));
+		}
+
+		OwnershipGraph graph = OwnershipGraph.build(List.of(NESTLE), brands);
+
+		assertEquals("high", graph.lookup("Marque " + (depth - 1)).getSeverity());
+		assertEquals("Appartient au groupe Nestlé (via Marque " + (depth - 2) + ") : Usine en territoire occupé",
+				graph.lookup("Marque " + (depth - 1)).getReason());
+		assertEquals(depth, graph.getBrandNames().size());
+	}
+}
@@ -0,0 +1,86 @@
+package com.consumesafe.app.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingServiceTests {
+
+	@Test
+	void estimateNeverUnderestimatesTrueCount() {
+		// Sketch volontairement étroit pour provoquer des collisions
+		TrendingService trending = new TrendingService(64, 2, 8);
+		Map<String, Integer> exact = new HashMap<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 20_000; i++) {
+			String query = "produit " + random.nextInt(500);
+			trending.record(query);
+			exact.merge(query, 1, Integer::sum);
+		}
+		exact.forEach((query, count) -> assertTrue(trending.estimate(query) >= count, query));
+		assertEquals(0, trending.estimate(""));
+	}
+
+	@Test
+	void topKAdmitsOnlyAboveThresholdAndEvictsMinimum() {
+		TrendingService trending = new TrendingService(2048, 4, 2);
+		record(trending, "Nestlé", 5);
+		record(trending, "Pepsi", 3);
+
+		// Égalité avec le plus petit score du top-K : pas d'éviction
+		record(trending, "Danone", 3);
+		assertEquals(List.of("nestlé", "pepsi"), keys(trending.getTopQueries(10)));
+
+		// Dépassement du seuil : le minimum (Pepsi) est évincé
+		trending.record("danone");
+		List<Map.Entry<String, Long>> top = trending.getTopQueries(10);
+		assertEquals(List.of("nestlé", "danone"), keys(top));
+		assertEquals(5L, top.get(0).getValue());
+		assertEquals(4L, top.get(1).getValue());
+		assertEquals(1, trending.getTopQueries(1).size());
+	}
+
+	@Test
+	void decayHalvesCountersAndDropsExpiredQueries() {
+		TrendingService trending = new TrendingService(2048, 4, 8);
+		record(trending, "Coca-Cola", 4);
+		record(trending, "HP", 1);
+
+		trending.decay();
+
+		assertEquals(2, trending.estimate("coca-cola"));
+		assertEquals(0, trending.estimate("HP"));
+		assertEquals(List.of("coca-cola"), keys(trending.getTopQueries(10)));
+	}
+
+	@Test
+	void suggestionsAreOrderedByPopularity() {
+		TrendingService trending = new TrendingService(2048, 4, 8);
+		ProductService productService = new ProductService();
+		ReflectionTestUtils.setField(productService, "trendingService", trending);
+		ReflectionTestUtils.setField(productService, "catalogVersion", new CatalogVersion());
+		productService.init();
+
+		// Ordre du catalogue sans historique, puis le produit le plus recherché en tête
+		assertEquals(List.of("Starbucks", "Carrefour"), productService.searchSuggestions("ar"));
+		record(trending, "Carrefour", 3);
+		assertEquals(List.of("Carrefour", "Starbucks"), productService.searchSuggestions("ar"));
+	}
+
+	private static void record(TrendingService trending, String query, int times) {
+		for (int i = 0; i < times; i++) {
+			trending.record(query);
+		}
+	}
+
+	private static List<String> keys(List<Map.Entry<String, Long>> entries) {
+		return entries.stream().map(Map.Entry::getKey).toList();
+	}
+}